@@ -0,0 +1,20 @@
+package sn.dev.api_gateway.configs;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Runs the backend calls of a composite movie page concurrently. Each call only waits on
+     * a downstream service, so one virtual thread per call is cheaper than sizing a pool.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService moviePageExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("movie-page-", 0).factory());
+    }
+}
@@ -0,0 +1,55 @@
+package sn.dev.api_gateway.configs;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import sn.dev.api_gateway.filters.RateLimitFilter;
+import sn.dev.api_gateway.filters.RateLimitFilter.RatePolicy;
+
+/**
+ * Per-route rate limits (see {@link RateLimitFilter}).
+ * Each policy allows {capacity} requests per {period} per client, with bursts up to capacity.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(MeterRegistry meterRegistry,
+            @Value("${gateway.rate-limit.auth.capacity:10}") int authCapacity,
+            @Value("${gateway.rate-limit.auth.period:1m}") Duration authPeriod,
+            @Value("${gateway.rate-limit.search.capacity:30}") int searchCapacity,
+            @Value("${gateway.rate-limit.search.period:1m}") Duration searchPeriod,
+            @Value("${gateway.rate-limit.default.capacity:300}") int defaultCapacity,
+            @Value("${gateway.rate-limit.default.period:1m}") Duration defaultPeriod,
+            @Value("${gateway.rate-limit.max-buckets:100000}") long maxBuckets,
+            @Value("${gateway.rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        // First match wins: specific routes before the catch-all
+        List<RatePolicy> policies = List.of(
+                // Credential endpoints: slows down password guessing and sign-up spam
+                new RatePolicy("auth", parser.parse("/api/users/{action:login|register|refresh}"),
+                        authCapacity, authPeriod),
+                // Search fans out to TMDB and spends our API quota
+                new RatePolicy("search", parser.parse("/api/movies/search"), searchCapacity, searchPeriod),
+                new RatePolicy("default", parser.parse("/api/**"), defaultCapacity, defaultPeriod));
+
+        // An evicted bucket restarts full, so it may only be dropped once it would have refilled anyway
+        Duration longestPeriod = policies.stream().map(RatePolicy::period).max(Duration::compareTo).orElseThrow();
+        Duration bucketIdleTimeout = idleTimeout.compareTo(longestPeriod) < 0 ? longestPeriod : idleTimeout;
+
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(policies, maxBuckets, bucketIdleTimeout, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        // After the Spring Security chain (the JWT subject is known), before the response cache
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,47 @@
+package sn.dev.api_gateway.configs;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import sn.dev.api_gateway.filters.ResponseCacheFilter;
+import sn.dev.api_gateway.filters.ResponseCacheFilter.CacheRule;
+
+/**
+ * Response cache for the public Movie Service routes (see {@link ResponseCacheFilter}).
+ * Each cacheable route has its own TTL; /random and the watchlist endpoints are never cached.
+ */
+@Configuration
+public class ResponseCacheConfig {
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(MeterRegistry meterRegistry,
+            @Value("${gateway.cache.max-size:64MB}") DataSize maxSize,
+            @Value("${gateway.cache.max-entry-size:1MB}") DataSize maxEntrySize,
+            @Value("${gateway.cache.ttl.trending:5m}") Duration trendingTtl,
+            @Value("${gateway.cache.ttl.popular:15m}") Duration popularTtl,
+            @Value("${gateway.cache.ttl.search:2m}") Duration searchTtl,
+            @Value("${gateway.cache.ttl.details:10m}") Duration detailsTtl,
+            @Value("${gateway.cache.ttl.similar:30m}") Duration similarTtl) {
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        List<CacheRule> rules = List.of(
+                new CacheRule(parser.parse("/api/movies/trending"), trendingTtl),
+                new CacheRule(parser.parse("/api/movies/popular"), popularTtl),
+                new CacheRule(parser.parse("/api/movies/search"), searchTtl),
+                new CacheRule(parser.parse("/api/movies/{tmdbId:\\d+}"), detailsTtl),
+                new CacheRule(parser.parse("/api/movies/{tmdbId:\\d+}/similar"), similarTtl));
+
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(
+                new ResponseCacheFilter(rules, maxSize.toBytes(), (int) maxEntrySize.toBytes(), meterRegistry));
+        registration.addUrlPatterns("/api/movies/*");
+        // Default (lowest) order: runs after the Spring Security chain, so CORS and auth are applied first
+        return registration;
+    }
+}
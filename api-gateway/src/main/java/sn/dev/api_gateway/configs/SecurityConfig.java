@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -16,12 +17,16 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import sn.dev.security.jwt.KeycloakJwtDecoders;
+
 /**
  * Security Configuration for Spring Cloud Gateway Server WebMVC.
  * Uses standard Spring Security (not WebFlux).
@@ -57,6 +62,9 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/movies/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/tmdb/**").permitAll()
                 
+                // --- RECOMMENDATION SERVICE PUBLIC ENDPOINTS ---
+                .requestMatchers(HttpMethod.GET, "/api/recommendations/movie/*/also-liked").permitAll()
+                
                 // --- MOVIE SERVICE AUTHENTICATED ENDPOINTS ---
                 .requestMatchers(HttpMethod.POST, "/api/movies/*/watchlist").authenticated()
                 .requestMatchers(HttpMethod.DELETE, "/api/movies/*/watchlist").authenticated()
@@ -77,6 +85,15 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Keycloak verification behind the shared verified-token cache (security-jwt module)
+    @Bean
+    public JwtDecoder jwtDecoder(MeterRegistry meterRegistry,
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri:}") String jwkSetUri,
+            @Value("${security.jwt.cache.max-size:10000}") long cacheMaxSize) {
+        return KeycloakJwtDecoders.cached(issuerUri, jwkSetUri, cacheMaxSize, meterRegistry);
+    }
+
     /**
      * Converts Keycloak JWT roles to Spring Security GrantedAuthorities.
      */
@@ -96,6 +113,10 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of("https://tanakaiko.github.io", "http://localhost:4200", "http://localhost:3000"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        // Response headers the frontend may read (partial-result flags, pagination cursors, cache status,
+        // rate-limit back-off, movie page timings)
+        configuration.setExposedHeaders(List.of("X-Recommendations-Partial", "X-Recommendations-Incomplete",
+                "X-Next-Cursor", "X-Cache", "ETag", "Age", "Retry-After", "Server-Timing", "X-Movie-Page-Partial"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -0,0 +1,154 @@
+package sn.dev.api_gateway.filters;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admission control at the gateway: one token bucket per (policy, client).
+ *
+ * The client is the JWT subject when the request is authenticated, the remote address otherwise.
+ * Behind a proxy the remote address is the one resolved from X-Forwarded-For by
+ * server.forward-headers-strategy=native, not the proxy's, so anonymous users do not share a bucket.
+ * The first {@link RatePolicy} whose pattern matches the path applies (list the specific routes
+ * first and a catch-all last); unmatched paths are not limited.
+ *
+ * Buckets are lock-free: each is a single AtomicLong holding the GCRA "theoretical arrival time",
+ * advanced with compare-and-set. This is the token-bucket algorithm expressed as one timestamp:
+ * capacity tokens, refilled evenly over period.
+ *
+ * A rejected request gets 429 with Retry-After (seconds until one token is back) and is counted in
+ * gateway.ratelimit.throttled{policy}. Buckets live in a size-bounded cache and are dropped after
+ * idle-timeout without requests; that timeout must be at least the longest policy period, so a
+ * dropped bucket was already full.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String RETRY_MESSAGE = "Too many requests, retry in %d seconds";
+
+    /**
+     * At most capacity requests in a burst, refilled at capacity per period.
+     */
+    public record RatePolicy(String name, PathPattern pattern, int capacity, Duration period) {
+
+        long emissionIntervalNanos() {
+            return period.toNanos() / capacity;
+        }
+
+        long burstToleranceNanos() {
+            return period.toNanos() - emissionIntervalNanos();
+        }
+    }
+
+    /**
+     * GCRA state: the time at which the bucket would be full again.
+     * A request is admitted if, after paying one emission interval, that time is at most
+     * burst tolerance ahead of now.
+     */
+    static final class TokenBucket {
+
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+        /**
+         * Returns 0 if the request is admitted, otherwise the nanoseconds to wait before retrying.
+         */
+        long tryAcquire(RatePolicy policy, long now) {
+            long interval = policy.emissionIntervalNanos();
+            long tolerance = policy.burstToleranceNanos();
+            while (true) {
+                long current = theoreticalArrival.get();
+                long base = Math.max(current, now);
+                long next = base + interval;
+                long wait = next - now - tolerance - interval;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+
+    private final List<RatePolicy> policies;
+    private final Cache<String, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(List<RatePolicy> policies, long maxBuckets, Duration idleTimeout,
+            MeterRegistry meterRegistry) {
+        this.policies = List.copyOf(policies);
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "gateway.ratelimit.buckets");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "OPTIONS".equals(request.getMethod()) || findPolicy(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RatePolicy policy = findPolicy(request);
+        TokenBucket bucket = buckets.get(policy.name() + "|" + clientKey(request), key -> new TokenBucket());
+        long waitNanos = bucket.tryAcquire(policy, System.nanoTime());
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        meterRegistry.counter("gateway.ratelimit.throttled", "policy", policy.name()).increment();
+        long retryAfterSeconds = (waitNanos + 999_999_999L) / 1_000_000_000L; // rounded up
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"timestamp\":\"" + LocalDateTime.now() + "\",\"message\":\""
+                + RETRY_MESSAGE.formatted(retryAfterSeconds) + "\"}");
+    }
+
+    private RatePolicy findPolicy(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (RatePolicy policy : policies) {
+            if (policy.pattern().matches(path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    // Authenticated callers are limited per account (whatever their IP), anonymous ones per address
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
+            return "user:" + jwt.getSubject();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,194 @@
+package sn.dev.api_gateway.filters;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Gateway-side cache for anonymous GETs on public routes.
+ *
+ * A request is served from the cache when it is a GET without an Authorization header,
+ * its path matches one of the {@link CacheRule}s, and a fresh entry exists for its path + query.
+ * On a miss the request goes to the backend as usual; a 200 response is stored for the rule's TTL.
+ * Requests carrying a token are never cached (X-Cache: BYPASS), since the backend may personalise them.
+ *
+ * Every cached response carries an ETag (the backend's, or an MD5 of the body); a matching
+ * If-None-Match is answered with 304 and no body. Cache-Control is rewritten to no-cache so
+ * browsers keep the body and revalidate.
+ *
+ * The cache is bounded by the total size of the stored bodies; least-used entries are evicted first.
+ * X-Cache (HIT, MISS, BYPASS) and Age tell clients where a response came from.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    static final String HEADER_CACHE = "X-Cache";
+    // Rough per-entry overhead (key, headers, entry object) counted against the size bound
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+    private static final String CACHE_CONTROL_REVALIDATE = "no-cache";
+
+    /**
+     * Paths matching pattern are cached for ttl. Rules are tried in order; the first match wins.
+     */
+    public record CacheRule(PathPattern pattern, Duration ttl) {
+    }
+
+    private record CachedResponse(String contentType, String contentLanguage, byte[] body, String etag,
+            Duration ttl, long storedAtNanos) {
+
+        int weight() {
+            return body.length + ENTRY_OVERHEAD_BYTES;
+        }
+
+        long ageSeconds() {
+            return Duration.ofNanos(System.nanoTime() - storedAtNanos).toSeconds();
+        }
+    }
+
+    private final List<CacheRule> rules;
+    private final int maxEntryBytes;
+    private final Cache<String, CachedResponse> cache;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter bypassCounter;
+
+    public ResponseCacheFilter(List<CacheRule> rules, long maxBytes, int maxEntryBytes, MeterRegistry meterRegistry) {
+        this.rules = List.copyOf(rules);
+        this.maxEntryBytes = maxEntryBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse value) -> value.weight())
+                .expireAfter(Expiry.creating((String key, CachedResponse value) -> value.ttl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.responses");
+        this.hitCounter = meterRegistry.counter("gateway.cache.requests", "result", "hit");
+        this.missCounter = meterRegistry.counter("gateway.cache.requests", "result", "miss");
+        this.bypassCounter = meterRegistry.counter("gateway.cache.requests", "result", "bypass");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || findRule(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (request.getHeader(HttpHeaders.AUTHORIZATION) != null) {
+            bypassCounter.increment();
+            response.setHeader(HEADER_CACHE, "BYPASS");
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String key = cacheKey(request);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hitCounter.increment();
+            writeCached(cached, ifNoneMatch, response);
+            return;
+        }
+
+        missCounter.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] body = wrapper.getContentAsByteArray();
+        String etag = wrapper.getHeader(HttpHeaders.ETAG);
+        if (etag == null) {
+            etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        }
+        if (body.length <= maxEntryBytes && wrapper.getHeader(HttpHeaders.SET_COOKIE) == null) {
+            cache.put(key, new CachedResponse(wrapper.getContentType(), wrapper.getHeader(HttpHeaders.CONTENT_LANGUAGE),
+                    body, etag, findRule(request).ttl(), System.nanoTime()));
+        }
+
+        wrapper.setHeader(HEADER_CACHE, "MISS");
+        wrapper.setHeader(HttpHeaders.ETAG, etag);
+        wrapper.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_REVALIDATE);
+        if (etagMatches(ifNoneMatch, etag)) {
+            // Drop the captured body: the client already has it
+            wrapper.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            wrapper.resetBuffer();
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void writeCached(CachedResponse cached, String ifNoneMatch, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(HEADER_CACHE, "HIT");
+        response.setHeader(HttpHeaders.ETAG, cached.etag());
+        response.setHeader(HttpHeaders.AGE, Long.toString(cached.ageSeconds()));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_REVALIDATE);
+        if (etagMatches(ifNoneMatch, cached.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (cached.contentType() != null) {
+            response.setContentType(cached.contentType());
+        }
+        if (cached.contentLanguage() != null) {
+            response.setHeader(HttpHeaders.CONTENT_LANGUAGE, cached.contentLanguage());
+        }
+        response.setContentLength(cached.body().length);
+        response.getOutputStream().write(cached.body());
+    }
+
+    private CacheRule findRule(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (CacheRule rule : rules) {
+            if (rule.pattern().matches(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static String cacheKey(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+    }
+
+    // If-None-Match may hold "*" or a comma-separated list of (possibly weak) tags
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String strong = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(strong)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,13 @@
+package sn.dev.api_gateway.services;
+
+import sn.dev.api_gateway.web.dto.MoviePageDTO;
+
+public interface MoviePageService {
+
+    /**
+     * Fetches the parts of a movie page from movie-service and rating-service in parallel.
+     * authorization is forwarded for the caller's own rating; null skips that part.
+     * Never throws for a failed part: it is left null and reported in legs.
+     */
+    MoviePageDTO getMoviePage(Integer tmdbId, String authorization);
+}
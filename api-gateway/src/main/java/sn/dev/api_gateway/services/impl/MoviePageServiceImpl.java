@@ -0,0 +1,201 @@
+package sn.dev.api_gateway.services.impl;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import sn.dev.api_gateway.services.MoviePageService;
+import sn.dev.api_gateway.web.dto.MoviePageDTO;
+import sn.dev.api_gateway.web.dto.MoviePageDTO.Leg;
+import sn.dev.api_gateway.web.dto.MoviePageDTO.Status;
+import tools.jackson.databind.JsonNode;
+
+import static sn.dev.api_gateway.web.dto.MoviePageDTO.LEG_MOVIE;
+import static sn.dev.api_gateway.web.dto.MoviePageDTO.LEG_RATING_SUMMARY;
+import static sn.dev.api_gateway.web.dto.MoviePageDTO.LEG_REVIEWS;
+import static sn.dev.api_gateway.web.dto.MoviePageDTO.LEG_SIMILAR;
+import static sn.dev.api_gateway.web.dto.MoviePageDTO.LEG_USER_RATING;
+
+/**
+ * Backend-for-frontend for the movie details page.
+ *
+ * The five calls the page used to make through the gateway (details, rating summary, reviews,
+ * the caller's rating, similar movies) are sent straight to the services, all at once, on
+ * virtual threads. The caller waits at most the budget in total; a call still running at the
+ * deadline is cancelled and reported as TIMEOUT, and a failed call only leaves its part null.
+ *
+ * Each call is timed in gateway.movie-page.leg (tags: leg, outcome) with a percentile histogram.
+ */
+@Service
+public class MoviePageServiceImpl implements MoviePageService {
+
+    private static final Logger log = LoggerFactory.getLogger(MoviePageServiceImpl.class);
+
+    private static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+
+    private record LegResult(ResponseEntity<JsonNode> response, Leg leg) {
+
+        JsonNode body() {
+            return response != null ? response.getBody() : null;
+        }
+    }
+
+    private final RestClient movieClient;
+    private final RestClient ratingClient;
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+    private final Duration budget;
+    private final int reviewsPageSize;
+
+    public MoviePageServiceImpl(RestClient.Builder restClientBuilder,
+            @Qualifier("moviePageExecutor") ExecutorService executor,
+            MeterRegistry meterRegistry,
+            @Value("${gateway.services.movie-service}") String movieServiceUri,
+            @Value("${gateway.services.rating-service}") String ratingServiceUri,
+            @Value("${gateway.movie-page.budget:2s}") Duration budget,
+            @Value("${gateway.movie-page.reviews-size:10}") int reviewsPageSize) {
+        // Socket timeouts match the budget so cancelled calls do not linger in the background
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(budget).build());
+        requestFactory.setReadTimeout(budget);
+        RestClient restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.movieClient = restClient.mutate().baseUrl(movieServiceUri).build();
+        this.ratingClient = restClient.mutate().baseUrl(ratingServiceUri).build();
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+        this.reviewsPageSize = reviewsPageSize;
+    }
+
+    @Override
+    public MoviePageDTO getMoviePage(Integer tmdbId, String authorization) {
+        Map<String, Callable<ResponseEntity<JsonNode>>> calls = new LinkedHashMap<>();
+        calls.put(LEG_MOVIE, () -> movieClient.get()
+                .uri("/api/movies/{tmdbId}", tmdbId)
+                .retrieve().toEntity(JsonNode.class));
+        calls.put(LEG_RATING_SUMMARY, () -> ratingClient.get()
+                .uri("/api/ratings/movie/{tmdbId}/distribution", tmdbId)
+                .retrieve().toEntity(JsonNode.class));
+        calls.put(LEG_REVIEWS, () -> ratingClient.get()
+                .uri("/api/ratings/movie/{tmdbId}/reviews?size={size}", tmdbId, reviewsPageSize)
+                .retrieve().toEntity(JsonNode.class));
+        if (authorization != null) {
+            calls.put(LEG_USER_RATING, () -> ratingClient.get()
+                    .uri("/api/ratings/movie/{tmdbId}", tmdbId)
+                    .header(HttpHeaders.AUTHORIZATION, authorization)
+                    .retrieve().toEntity(JsonNode.class));
+        }
+        calls.put(LEG_SIMILAR, () -> movieClient.get()
+                .uri("/api/movies/{tmdbId}/similar", tmdbId)
+                .retrieve().toEntity(JsonNode.class));
+
+        Map<String, LegResult> results = runAll(calls);
+
+        Map<String, Leg> legs = new LinkedHashMap<>();
+        results.forEach((name, result) -> legs.put(name, result.leg()));
+        LegResult reviews = results.get(LEG_REVIEWS);
+        LegResult userRating = results.get(LEG_USER_RATING);
+        return new MoviePageDTO(
+                results.get(LEG_MOVIE).body(),
+                results.get(LEG_RATING_SUMMARY).body(),
+                reviews.body(),
+                reviews.response() != null ? reviews.response().getHeaders().getFirst(HEADER_NEXT_CURSOR) : null,
+                userRating != null ? userRating.body() : null,
+                results.get(LEG_SIMILAR).body(),
+                legs);
+    }
+
+    /**
+     * Starts every call at once and collects them under one deadline, in the map's order.
+     */
+    private Map<String, LegResult> runAll(Map<String, Callable<ResponseEntity<JsonNode>>> calls) {
+        long started = System.nanoTime();
+        long deadline = started + budget.toNanos();
+
+        Map<String, Long> finishedAt = new ConcurrentHashMap<>();
+        Map<String, Future<ResponseEntity<JsonNode>>> futures = new LinkedHashMap<>();
+        calls.forEach((name, call) -> futures.put(name, executor.submit(() -> {
+            try {
+                return call.call();
+            } finally {
+                finishedAt.put(name, System.nanoTime());
+            }
+        })));
+
+        Map<String, LegResult> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<ResponseEntity<JsonNode>>> entry : futures.entrySet()) {
+            String name = entry.getKey();
+            Future<ResponseEntity<JsonNode>> future = entry.getValue();
+            Status status;
+            ResponseEntity<JsonNode> response = null;
+            Integer upstreamStatus = null;
+            try {
+                response = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                upstreamStatus = response.getStatusCode().value();
+                status = Status.OK;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                status = Status.TIMEOUT;
+                log.warn("Movie page call '{}' exceeded the {} ms budget", name, budget.toMillis());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RestClientResponseException responseException) {
+                    upstreamStatus = responseException.getStatusCode().value();
+                }
+                status = isTimeout(cause) ? Status.TIMEOUT : Status.FAILED;
+                log.warn("Movie page call '{}' failed: {}", name, cause.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.values().forEach(f -> f.cancel(true));
+                status = Status.TIMEOUT;
+            }
+            // Completed calls report when they actually finished, not when they were collected
+            long finished = status == Status.TIMEOUT ? System.nanoTime() : finishedAt.getOrDefault(name, System.nanoTime());
+            Duration elapsed = Duration.ofNanos(finished - started);
+            timer(name, status).record(elapsed);
+            results.put(name, new LegResult(response, new Leg(status, elapsed.toNanos() / 1_000_000.0, upstreamStatus)));
+        }
+        return results;
+    }
+
+    // Socket timeouts arrive wrapped (ResourceAccessException -> IOException -> HttpTimeoutException)
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Timer timer(String leg, Status status) {
+        return Timer.builder("gateway.movie-page.leg")
+                .description("Time until a movie page backend call completed, failed or hit the budget")
+                .tag("leg", leg)
+                .tag("outcome", status.name().toLowerCase())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,21 @@
+package sn.dev.api_gateway.web.controllers;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import sn.dev.api_gateway.web.dto.MoviePageDTO;
+
+@RequestMapping("/api/movie-pages")
+public interface MoviePageController {
+
+    // Movie details, rating summary, first page of reviews, the caller's rating (when authenticated)
+    // and similar movies in one response. Per-call latency is returned in the Server-Timing header.
+    // 404 if the movie does not exist, 502 if the details could not be fetched; other parts may be null.
+    @GetMapping("/{tmdbId}")
+    ResponseEntity<MoviePageDTO> getMoviePage(@PathVariable Integer tmdbId,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization);
+}
@@ -0,0 +1,62 @@
+package sn.dev.api_gateway.web.controllers.impl;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import sn.dev.api_gateway.services.MoviePageService;
+import sn.dev.api_gateway.web.controllers.MoviePageController;
+import sn.dev.api_gateway.web.dto.MoviePageDTO;
+import sn.dev.api_gateway.web.dto.MoviePageDTO.Leg;
+
+@RestController
+@RequiredArgsConstructor
+public class MoviePageControllerImpl implements MoviePageController {
+
+    static final String HEADER_SERVER_TIMING = "Server-Timing";
+    static final String HEADER_PARTIAL = "X-Movie-Page-Partial";
+
+    private final MoviePageService moviePageService;
+
+    @Override
+    public ResponseEntity<MoviePageDTO> getMoviePage(Integer tmdbId, String authorization) {
+        long started = System.nanoTime();
+        MoviePageDTO page = moviePageService.getMoviePage(tmdbId, authorization);
+        double totalMs = (System.nanoTime() - started) / 1_000_000.0;
+
+        return ResponseEntity.status(statusOf(page.legs().get(MoviePageDTO.LEG_MOVIE)))
+                .header(HEADER_SERVER_TIMING, serverTiming(page.legs(), totalMs))
+                .header(HEADER_PARTIAL, String.valueOf(page.partial()))
+                .body(page);
+    }
+
+    // The page is only usable with the movie itself; the other parts degrade to null
+    private static HttpStatus statusOf(Leg movieLeg) {
+        if (movieLeg.status() == MoviePageDTO.Status.OK) {
+            return HttpStatus.OK;
+        }
+        if (movieLeg.upstreamStatus() != null && movieLeg.upstreamStatus() == HttpStatus.NOT_FOUND.value()) {
+            return HttpStatus.NOT_FOUND;
+        }
+        return HttpStatus.BAD_GATEWAY;
+    }
+
+    // e.g. movie;dur=35.2, similar;dur=800.0;desc="timeout", total;dur=801.3
+    private static String serverTiming(Map<String, Leg> legs, double totalMs) {
+        String perLeg = legs.entrySet().stream()
+                .map(entry -> {
+                    Leg leg = entry.getValue();
+                    String metric = entry.getKey() + ";dur=" + String.format(Locale.ROOT, "%.1f", leg.durationMs());
+                    return leg.status() == MoviePageDTO.Status.OK
+                            ? metric
+                            : metric + ";desc=\"" + leg.status().name().toLowerCase(Locale.ROOT) + "\"";
+                })
+                .collect(Collectors.joining(", "));
+        return perLeg + ", total;dur=" + String.format(Locale.ROOT, "%.1f", totalMs);
+    }
+}
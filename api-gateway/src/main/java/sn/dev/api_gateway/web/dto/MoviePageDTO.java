@@ -0,0 +1,51 @@
+package sn.dev.api_gateway.web.dto;
+
+import java.util.Map;
+
+import tools.jackson.databind.JsonNode;
+
+/**
+ * Everything the movie details page needs, gathered in one gateway call.
+ * Payloads are passed through as returned by the owning service; a part whose call
+ * failed or timed out is null, and legs says why.
+ *
+ * @param movie             MovieDetailsDTO (movie-service)
+ * @param ratingSummary     RatingAggregateDTO: average, count, star distribution (rating-service)
+ * @param reviews           first page of MovieReviewDTO (rating-service)
+ * @param reviewsNextCursor cursor for the next page of reviews, null on the last page
+ * @param userRating        the caller's score, null when anonymous or not rated
+ * @param similar           list of MovieSummaryDTO (movie-service)
+ * @param legs              outcome and latency of each backend call, by part name
+ */
+public record MoviePageDTO(
+        JsonNode movie,
+        JsonNode ratingSummary,
+        JsonNode reviews,
+        String reviewsNextCursor,
+        JsonNode userRating,
+        JsonNode similar,
+        Map<String, Leg> legs) {
+
+    public static final String LEG_MOVIE = "movie";
+    public static final String LEG_RATING_SUMMARY = "ratingSummary";
+    public static final String LEG_REVIEWS = "reviews";
+    public static final String LEG_USER_RATING = "userRating";
+    public static final String LEG_SIMILAR = "similar";
+
+    public enum Status {
+        OK, FAILED, TIMEOUT
+    }
+
+    /**
+     * @param upstreamStatus HTTP status returned by the service, null if no response arrived
+     */
+    public record Leg(Status status, double durationMs, Integer upstreamStatus) {
+    }
+
+    /**
+     * True when at least one part is missing; sent as the X-Movie-Page-Partial header.
+     */
+    public boolean partial() {
+        return legs.values().stream().anyMatch(leg -> leg.status() != Status.OK);
+    }
+}
@@ -0,0 +1,106 @@
+package sn.dev.api_gateway.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import sn.dev.api_gateway.filters.RateLimitFilter.RatePolicy;
+import sn.dev.api_gateway.filters.RateLimitFilter.TokenBucket;
+
+class RateLimitFilterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    // arbitrary origin: System.nanoTime() may be negative
+    private static final long T0 = -42 * SECOND;
+
+    // 5 requests per 10 s: one token every 2 s
+    private final RatePolicy policy = new RatePolicy("test", PathPatternParser.defaultInstance.parse("/api/**"), 5,
+            Duration.ofSeconds(10));
+
+    @Test
+    void burstEqualsCapacity() {
+        TokenBucket bucket = new TokenBucket();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(policy, T0)).isZero();
+        }
+        assertThat(bucket.tryAcquire(policy, T0)).isEqualTo(2 * SECOND);
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        TokenBucket bucket = new TokenBucket();
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(policy, T0);
+        }
+
+        assertThat(bucket.tryAcquire(policy, T0 + SECOND / 2)).isEqualTo(3 * SECOND / 2);
+        assertThat(bucket.tryAcquire(policy, T0 + 2 * SECOND)).isZero();
+        assertThat(bucket.tryAcquire(policy, T0 + 2 * SECOND)).isEqualTo(2 * SECOND);
+        assertThat(bucket.tryAcquire(policy, T0 + 4 * SECOND)).isZero();
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeTokens() {
+        TokenBucket bucket = new TokenBucket();
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(policy, T0);
+        }
+        for (int i = 0; i < 100; i++) {
+            bucket.tryAcquire(policy, T0 + SECOND);
+        }
+
+        assertThat(bucket.tryAcquire(policy, T0 + 2 * SECOND)).isZero();
+    }
+
+    @Test
+    void idleBucketRefillsToCapacityOnly() {
+        TokenBucket bucket = new TokenBucket();
+        bucket.tryAcquire(policy, T0);
+
+        long later = T0 + 3600 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(policy, later)).isZero();
+        }
+        assertThat(bucket.tryAcquire(policy, later)).isEqualTo(2 * SECOND);
+    }
+
+    @Test
+    void throttledRequestGets429WithRetryAfterRoundedUp() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RatePolicy onePerPeriod = new RatePolicy("strict", PathPatternParser.defaultInstance.parse("/api/**"), 1,
+                Duration.ofMillis(1500));
+        RateLimitFilter filter = new RateLimitFilter(List.of(onePerPeriod), 100, Duration.ofMinutes(1), meterRegistry);
+
+        MockHttpServletResponse first = call(filter, "/api/movies", "10.0.0.1");
+        MockHttpServletResponse second = call(filter, "/api/movies", "10.0.0.1");
+        MockHttpServletResponse otherClient = call(filter, "/api/movies", "10.0.0.2");
+        MockHttpServletResponse unmatched = call(filter, "/health", "10.0.0.1");
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(429);
+        assertThat(second.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(second.getContentAsString()).contains("retry in 2 seconds");
+        assertThat(otherClient.getStatus()).isEqualTo(200);
+        assertThat(unmatched.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.counter("gateway.ratelimit.throttled", "policy", "strict").count()).isEqualTo(1.0);
+    }
+
+    private static MockHttpServletResponse call(RateLimitFilter filter, String uri, String remoteAddr)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,138 @@
+package sn.dev.api_gateway.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "{\"id\":27205}";
+    private static final String BODY_ETAG = "\"" + DigestUtils.md5DigestAsHex(BODY.getBytes(StandardCharsets.UTF_8)) + "\"";
+
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(
+            List.of(new ResponseCacheFilter.CacheRule(PathPatternParser.defaultInstance.parse("/api/movies/**"),
+                    Duration.ofMinutes(5))),
+            1_000_000, 100_000, new SimpleMeterRegistry());
+
+    private final AtomicInteger backendCalls = new AtomicInteger();
+    private int backendStatus = 200;
+
+    private final FilterChain backend = (request, response) -> {
+        backendCalls.incrementAndGet();
+        HttpServletResponse http = (HttpServletResponse) response;
+        http.setStatus(backendStatus);
+        http.setContentType("application/json");
+        http.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+    };
+
+    @Test
+    void missStoresTheResponseAndHitServesItWithoutTheBackend() throws Exception {
+        MockHttpServletResponse miss = get("/api/movies/27205", null, null);
+        MockHttpServletResponse hit = get("/api/movies/27205", null, null);
+
+        assertThat(miss.getHeader(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("MISS");
+        assertThat(miss.getContentAsString()).isEqualTo(BODY);
+        assertThat(miss.getHeader(HttpHeaders.ETAG)).isEqualTo(BODY_ETAG);
+        assertThat(miss.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+
+        assertThat(hit.getStatus()).isEqualTo(200);
+        assertThat(hit.getHeader(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("HIT");
+        assertThat(hit.getContentAsString()).isEqualTo(BODY);
+        assertThat(hit.getContentType()).isEqualTo("application/json");
+        assertThat(hit.getHeader(HttpHeaders.ETAG)).isEqualTo(BODY_ETAG);
+        assertThat(hit.getHeader(HttpHeaders.AGE)).isEqualTo("0");
+        assertThat(backendCalls).hasValue(1);
+    }
+
+    @Test
+    void matchingIfNoneMatchOnAMissGets304WithoutBody() throws Exception {
+        MockHttpServletResponse response = get("/api/movies/27205", null, BODY_ETAG);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getHeader(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("MISS");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(BODY_ETAG);
+    }
+
+    @Test
+    void matchingIfNoneMatchOnAHitGets304WithoutBody() throws Exception {
+        get("/api/movies/27205", null, null);
+
+        MockHttpServletResponse weak = get("/api/movies/27205", null, "\"other\", W/" + BODY_ETAG);
+        MockHttpServletResponse stale = get("/api/movies/27205", null, "\"other\"");
+
+        assertThat(weak.getStatus()).isEqualTo(304);
+        assertThat(weak.getContentAsByteArray()).isEmpty();
+        assertThat(weak.getHeader(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("HIT");
+        assertThat(stale.getStatus()).isEqualTo(200);
+        assertThat(stale.getContentAsString()).isEqualTo(BODY);
+        assertThat(backendCalls).hasValue(1);
+    }
+
+    @Test
+    void requestsWithATokenBypassTheCache() throws Exception {
+        MockHttpServletResponse first = get("/api/movies/27205", "Bearer token", null);
+        MockHttpServletResponse second = get("/api/movies/27205", "Bearer token", null);
+        MockHttpServletResponse anonymous = get("/api/movies/27205", null, null);
+
+        assertThat(first.getHeader(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("BYPASS");
+        assertThat(second.getHeader(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("BYPASS");
+        assertThat(second.getContentAsString()).isEqualTo(BODY);
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(anonymous.getHeader(ResponseCacheFilter.HEADER_CACHE)).isEqualTo("MISS");
+        assertThat(backendCalls).hasValue(3);
+    }
+
+    @Test
+    void non200ResponsesPassThroughUncached() throws Exception {
+        backendStatus = 404;
+
+        MockHttpServletResponse first = get("/api/movies/1", null, null);
+        MockHttpServletResponse second = get("/api/movies/1", null, null);
+
+        assertThat(first.getStatus()).isEqualTo(404);
+        assertThat(first.getContentAsString()).isEqualTo(BODY);
+        assertThat(first.getHeader(ResponseCacheFilter.HEADER_CACHE)).isNull();
+        assertThat(second.getStatus()).isEqualTo(404);
+        assertThat(backendCalls).hasValue(2);
+    }
+
+    @Test
+    void otherMethodsAndPathsAreNotFiltered() throws Exception {
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/movies/27205");
+        MockHttpServletResponse postResponse = new MockHttpServletResponse();
+        filter.doFilter(post, postResponse, backend);
+        MockHttpServletResponse other = get("/api/ratings/me", null, null);
+
+        assertThat(postResponse.getHeader(ResponseCacheFilter.HEADER_CACHE)).isNull();
+        assertThat(other.getHeader(ResponseCacheFilter.HEADER_CACHE)).isNull();
+        assertThat(backendCalls).hasValue(2);
+    }
+
+    private MockHttpServletResponse get(String uri, String authorization, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (authorization != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, backend);
+        return response;
+    }
+}
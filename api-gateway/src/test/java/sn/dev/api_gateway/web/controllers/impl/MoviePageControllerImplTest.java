@@ -0,0 +1,64 @@
+package sn.dev.api_gateway.web.controllers.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import sn.dev.api_gateway.web.dto.MoviePageDTO;
+import sn.dev.api_gateway.web.dto.MoviePageDTO.Leg;
+import sn.dev.api_gateway.web.dto.MoviePageDTO.Status;
+
+class MoviePageControllerImplTest {
+
+    @Test
+    void completePageIsNotPartial() {
+        ResponseEntity<MoviePageDTO> response = controllerReturning(
+                leg(MoviePageDTO.LEG_MOVIE, Status.OK, 200),
+                leg(MoviePageDTO.LEG_SIMILAR, Status.OK, 200)).getMoviePage(27205, null);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getHeaders().getFirst(MoviePageControllerImpl.HEADER_PARTIAL)).isEqualTo("false");
+        assertThat(response.getHeaders().getFirst(MoviePageControllerImpl.HEADER_SERVER_TIMING))
+                .startsWith("movie;dur=1.0, similar;dur=1.0, total;dur=");
+    }
+
+    @Test
+    void missingPartFlagsThePageAsPartial() {
+        ResponseEntity<MoviePageDTO> response = controllerReturning(
+                leg(MoviePageDTO.LEG_MOVIE, Status.OK, 200),
+                leg(MoviePageDTO.LEG_SIMILAR, Status.TIMEOUT, null)).getMoviePage(27205, null);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getHeaders().getFirst(MoviePageControllerImpl.HEADER_PARTIAL)).isEqualTo("true");
+        assertThat(response.getHeaders().getFirst(MoviePageControllerImpl.HEADER_SERVER_TIMING))
+                .contains("similar;dur=1.0;desc=\"timeout\"");
+    }
+
+    @Test
+    void movieLegDecidesTheStatus() {
+        assertThat(controllerReturning(leg(MoviePageDTO.LEG_MOVIE, Status.FAILED, 404))
+                .getMoviePage(1, null).getStatusCode().value()).isEqualTo(404);
+        assertThat(controllerReturning(leg(MoviePageDTO.LEG_MOVIE, Status.FAILED, 500))
+                .getMoviePage(1, null).getStatusCode().value()).isEqualTo(502);
+        assertThat(controllerReturning(leg(MoviePageDTO.LEG_MOVIE, Status.TIMEOUT, null))
+                .getMoviePage(1, null).getStatusCode().value()).isEqualTo(502);
+    }
+
+    @SafeVarargs
+    private static MoviePageControllerImpl controllerReturning(Map.Entry<String, Leg>... legs) {
+        Map<String, Leg> byName = new LinkedHashMap<>();
+        for (Map.Entry<String, Leg> leg : legs) {
+            byName.put(leg.getKey(), leg.getValue());
+        }
+        MoviePageDTO page = new MoviePageDTO(null, null, null, null, null, null, byName);
+        return new MoviePageControllerImpl((tmdbId, authorization) -> page);
+    }
+
+    private static Map.Entry<String, Leg> leg(String name, Status status, Integer upstreamStatus) {
+        return Map.entry(name, new Leg(status, 1.0, upstreamStatus));
+    }
+}
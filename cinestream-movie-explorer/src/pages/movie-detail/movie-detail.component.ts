@@ -80,6 +80,8 @@ export class MovieDetailComponent implements OnInit {
 
   // All reviews/ratings for this movie from all users
   readonly movieReviews = this.ratingService.movieReviews;
+  readonly hasMoreReviews = this.ratingService.hasMoreReviews;
+  readonly isLoadingMoreReviews = signal(false);
 
   // -------------------------------------------------------------------------
   // Lifecycle Hooks
@@ -162,6 +164,16 @@ export class MovieDetailComponent implements OnInit {
     });
   }
 
+  loadMoreReviews(): void {
+    const tmdbId = this.tmdbIdParam();
+    if (!tmdbId || this.isLoadingMoreReviews()) return;
+
+    this.isLoadingMoreReviews.set(true);
+    this.ratingService.loadMoreReviews(tmdbId).subscribe({
+      complete: () => this.isLoadingMoreReviews.set(false)
+    });
+  }
+
   openRecommendModal(): void {
     this.recommendationMessage.set('');
     this.selectedFriend.set(null);
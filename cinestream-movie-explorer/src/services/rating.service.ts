@@ -1,7 +1,7 @@
 import { Injectable, signal, computed, inject } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
-import { Observable, of, throwError } from 'rxjs';
-import { tap, catchError, finalize, map } from 'rxjs/operators';
+import { HttpClient, HttpParams, HttpResponse } from '@angular/common/http';
+import { EMPTY, Observable, of, throwError } from 'rxjs';
+import { tap, catchError, finalize, map, expand, reduce } from 'rxjs/operators';
 import { environment } from '../environments/environment';
 import { NotificationService } from './notification.service';
 
@@ -46,6 +46,12 @@ export interface MovieReview {
 
 const API_BASE_URL = environment.apiBaseUrl;
 
+/** Header carrying the cursor of the next page (absent on the last page) */
+const NEXT_CURSOR_HEADER = 'X-Next-Cursor';
+
+/** Largest page size accepted by the paginated rating endpoints */
+const MAX_PAGE_SIZE = 100;
+
 // ============================================================================
 // RATING SERVICE
 // ============================================================================
@@ -80,11 +86,15 @@ export class RatingService {
   /** Reviews for the currently viewed movie */
   private readonly _movieReviews = signal<MovieReview[]>([]);
 
+  /** Cursor of the next page of reviews, null when every review is loaded */
+  private readonly _reviewsNextCursor = signal<string | null>(null);
+
   // Public readonly signals
   readonly userRatings = this._userRatings.asReadonly();
   readonly isLoading = this._isLoading.asReadonly();
   readonly error = this._error.asReadonly();
   readonly movieReviews = this._movieReviews.asReadonly();
+  readonly hasMoreReviews = computed(() => this._reviewsNextCursor() !== null);
 
   // Computed: Ratings count
   readonly count = computed(() => this._userRatings().length);
@@ -94,13 +104,17 @@ export class RatingService {
   // -------------------------------------------------------------------------
 
   /**
-   * Fetch all ratings for the current user
+   * Fetch all ratings for the current user.
+   * The endpoint is paginated, so pages are followed through X-Next-Cursor until the last one:
+   * the lookup map must hold every rating, not just the newest page.
    */
   fetchUserRatings(): Observable<UserRating[]> {
     this._isLoading.set(true);
     this._error.set(null);
 
-    return this.http.get<UserRating[]>(this.apiUrl).pipe(
+    return this.fetchRatingsPage(null).pipe(
+      expand(page => page.nextCursor ? this.fetchRatingsPage(page.nextCursor) : EMPTY),
+      reduce((all, page) => all.concat(page.items), [] as UserRating[]),
       tap((ratings) => {
         this._userRatings.set(ratings);
         // Build lookup map
@@ -206,11 +220,16 @@ export class RatingService {
   }
 
   /**
-   * Get all reviews/ratings for a movie from all users (public, no auth required)
+   * Get the newest page of reviews/ratings for a movie from all users (public, no auth required).
+   * Further pages are loaded with loadMoreReviews.
    */
   getMovieReviews(tmdbId: number): Observable<MovieReview[]> {
-    return this.http.get<MovieReview[]>(`${this.apiUrl}/movie/${tmdbId}/reviews`).pipe(
-      tap((reviews) => this._movieReviews.set(reviews)),
+    return this.fetchReviewsPage(tmdbId, null).pipe(
+      tap((page) => {
+        this._movieReviews.set(page.items);
+        this._reviewsNextCursor.set(page.nextCursor);
+      }),
+      map(page => page.items),
       catchError((error) => {
         console.error('Fetch movie reviews error:', error);
         return of([]);
@@ -218,10 +237,59 @@ export class RatingService {
     );
   }
 
+  /**
+   * Append the next page of reviews for the movie loaded by getMovieReviews
+   */
+  loadMoreReviews(tmdbId: number): Observable<MovieReview[]> {
+    const cursor = this._reviewsNextCursor();
+    if (!cursor) {
+      return of([]);
+    }
+    return this.fetchReviewsPage(tmdbId, cursor).pipe(
+      tap((page) => {
+        this._movieReviews.update(reviews => [...reviews, ...page.items]);
+        this._reviewsNextCursor.set(page.nextCursor);
+      }),
+      map(page => page.items),
+      catchError((error) => {
+        console.error('Fetch more movie reviews error:', error);
+        return of([]);
+      })
+    );
+  }
+
   // -------------------------------------------------------------------------
   // Helper Methods
   // -------------------------------------------------------------------------
 
+  private fetchRatingsPage(cursor: string | null): Observable<{ items: UserRating[]; nextCursor: string | null }> {
+    return this.http.get<UserRating[]>(this.apiUrl, { params: this.pageParams(cursor, MAX_PAGE_SIZE), observe: 'response' })
+      .pipe(map(response => this.toPage(response)));
+  }
+
+  private fetchReviewsPage(tmdbId: number, cursor: string | null): Observable<{ items: MovieReview[]; nextCursor: string | null }> {
+    return this.http.get<MovieReview[]>(`${this.apiUrl}/movie/${tmdbId}/reviews`, { params: this.pageParams(cursor), observe: 'response' })
+      .pipe(map(response => this.toPage(response)));
+  }
+
+  private pageParams(cursor: string | null, size?: number): HttpParams {
+    let params = new HttpParams();
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    if (size) {
+      params = params.set('size', size);
+    }
+    return params;
+  }
+
+  private toPage<T>(response: HttpResponse<T[]>): { items: T[]; nextCursor: string | null } {
+    return {
+      items: response.body ?? [],
+      nextCursor: response.headers.get(NEXT_CURSOR_HEADER)
+    };
+  }
+
   /**
    * Get cached rating for a movie (from local state)
    */
@@ -246,6 +314,8 @@ export class RatingService {
   clearRatings(): void {
     this._userRatings.set([]);
     this._ratingsMap.set(new Map());
+    this._movieReviews.set([]);
+    this._reviewsNextCursor.set(null);
     this._error.set(null);
   }
 
@@ -2,8 +2,10 @@ package sen.dev.movie_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MovieServiceApplication {
 
 	public static void main(String[] args) {
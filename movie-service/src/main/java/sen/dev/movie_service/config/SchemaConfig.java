@@ -0,0 +1,31 @@
+package sen.dev.movie_service.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import sn.dev.schema.SchemaMigration;
+import sn.dev.schema.SchemaMigrations;
+
+/**
+ * Neo4j schema owned by movie-service: uniqueness constraints on the tmdbId of Movie, Genre and
+ * Person nodes, which every movie lookup and every ingestion MERGE goes through. Applied and
+ * health-checked by the shared schema-migrations module; append here, never edit or renumber a
+ * shipped entry.
+ */
+@Configuration
+public class SchemaConfig {
+
+    @Bean
+    public SchemaMigrations schemaMigrations() {
+        return SchemaMigrations.of(
+                new SchemaMigration(1, "Unique Movie.tmdbId",
+                        "CREATE CONSTRAINT movie_tmdb_id IF NOT EXISTS FOR (m:Movie) REQUIRE m.tmdbId IS UNIQUE",
+                        "movie_tmdb_id"),
+                new SchemaMigration(2, "Unique Genre.tmdbId",
+                        "CREATE CONSTRAINT genre_tmdb_id IF NOT EXISTS FOR (g:Genre) REQUIRE g.tmdbId IS UNIQUE",
+                        "genre_tmdb_id"),
+                new SchemaMigration(3, "Unique Person.tmdbId",
+                        "CREATE CONSTRAINT person_tmdb_id IF NOT EXISTS FOR (p:Person) REQUIRE p.tmdbId IS UNIQUE",
+                        "person_tmdb_id"));
+    }
+}
@@ -1,5 +1,6 @@
 package sen.dev.movie_service.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -11,9 +12,13 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import sn.dev.security.jwt.KeycloakJwtDecoders;
+
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -33,7 +38,9 @@ public class SecurityConfig {
     private static final String API_MOVIES_BY_ID = "/api/movies/{tmdbId}";
     private static final String API_MOVIES_SIMILAR = "/api/movies/{tmdbId}/similar";
     private static final String API_MOVIES_WATCHLIST = "/api/movies/watchlist";
+    private static final String API_MOVIES_WATCHLIST_EXPORT = "/api/movies/watchlist/export";
     private static final String API_MOVIES_WATCHLIST_ACTION = "/api/movies/*/watchlist";
+    private static final String API_MOVIES_ADMIN = "/api/movies/admin/**";
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -44,7 +51,13 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
 
                         // --- ACTUATOR ENDPOINTS (Health checks) ---
-                        .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                        // Metrics (cache stats included) and any other exposed endpoint are for admins
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
+                        // --- ADMIN ONLY (Role-based) ---
+                        // Declared before the public rules so /api/movies/{tmdbId} does not swallow it
+                        .requestMatchers(API_MOVIES_ADMIN).hasRole("ADMIN")
 
                         // --- PUBLIC ACCESS (No JWT required) ---
                         // Users can browse the catalog without an account
@@ -58,12 +71,10 @@ public class SecurityConfig {
                         // --- AUTHENTICATED ACCESS (JWT required) ---
                         // Watchlist features require a logged-in user
                         .requestMatchers(HttpMethod.GET, API_MOVIES_WATCHLIST).authenticated()
+                        .requestMatchers(HttpMethod.GET, API_MOVIES_WATCHLIST_EXPORT).authenticated()
                         .requestMatchers(HttpMethod.POST, API_MOVIES_WATCHLIST_ACTION).authenticated()
                         .requestMatchers(HttpMethod.DELETE, API_MOVIES_WATCHLIST_ACTION).authenticated()
 
-                        // --- ADMIN ONLY (Role-based) ---
-                        // Future: Admin endpoints can use .hasRole("ADMIN")
-
                         .anyRequest().permitAll())
 
                 // Enable JWT Resource Server with Keycloak role mapping
@@ -73,6 +84,15 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Keycloak verification behind the shared verified-token cache (security-jwt module)
+    @Bean
+    public JwtDecoder jwtDecoder(MeterRegistry meterRegistry,
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri:}") String jwkSetUri,
+            @Value("${security.jwt.cache.max-size:10000}") long cacheMaxSize) {
+        return KeycloakJwtDecoders.cached(issuerUri, jwkSetUri, cacheMaxSize, meterRegistry);
+    }
+
     /**
      * Maps Keycloak JWT roles (realm_access.roles) to Spring Security
      * GrantedAuthority.
@@ -1,8 +1,12 @@
 package sen.dev.movie_service.data.repositories;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.data.neo4j.repository.Neo4jRepository;
+import org.springframework.data.neo4j.repository.query.Query;
+import org.springframework.data.repository.query.Param;
 
 import sen.dev.movie_service.data.entities.GenreEntity;
 
@@ -10,4 +14,12 @@ public interface GenreRepository extends Neo4jRepository<GenreEntity, Long> {
 
     // Find genre by the TMDB ID
     Optional<GenreEntity> findByTmdbId(Integer tmdbId);
+
+    // Create-or-update many genres in one round-trip.
+    // Each map needs "tmdbId" and "name"; existing nodes take the new name (TMDB renames genres), a null keeps the old one.
+    @Query("UNWIND $genres AS genre " +
+            "MERGE (g:Genre {tmdbId: genre.tmdbId}) " +
+            "SET g.name = coalesce(genre.name, g.name) " +
+            "RETURN g")
+    List<GenreEntity> upsertAll(@Param("genres") List<Map<String, Object>> genres);
 }
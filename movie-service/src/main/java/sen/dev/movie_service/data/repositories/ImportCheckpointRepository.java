@@ -0,0 +1,47 @@
+package sen.dev.movie_service.data.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Persists the last fully imported page per catalog source, so an interrupted
+ * import resumes where it stopped instead of starting over. A source's checkpoint
+ * is cleared once it has been read to the end.
+ * Stored as (:ImportCheckpoint {source, page, updatedAt}).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ImportCheckpointRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    public Optional<Integer> findLastPage(String source) {
+        return neo4jClient.query("MATCH (c:ImportCheckpoint {source: $source}) RETURN c.page AS page")
+                .bind(source).to("source")
+                .fetchAs(Integer.class)
+                .mappedBy((typeSystem, record) -> record.get("page").asInt())
+                .one();
+    }
+
+    public void saveLastPage(String source, int page) {
+        neo4jClient.query("MERGE (c:ImportCheckpoint {source: $source}) " +
+                "SET c.page = $page, c.updatedAt = datetime()")
+                .bind(source).to("source")
+                .bind(page).to("page")
+                .run();
+    }
+
+    public void clear(String source) {
+        neo4jClient.query("MATCH (c:ImportCheckpoint {source: $source}) DELETE c")
+                .bind(source).to("source")
+                .run();
+    }
+
+    public void reset() {
+        neo4jClient.query("MATCH (c:ImportCheckpoint) DELETE c").run();
+    }
+}
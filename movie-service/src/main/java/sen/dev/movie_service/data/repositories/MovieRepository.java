@@ -17,17 +17,29 @@ public interface MovieRepository extends Neo4jRepository<MovieEntity, Long> {
     // Search for movies by title (fuzzy match)
     List<MovieEntity> findByTitleContainingIgnoreCase(String title);
 
+    // Which of these TMDB IDs are already in the catalog (used by the bulk import to skip them)
+    @Query("UNWIND $tmdbIds AS id MATCH (m:Movie {tmdbId: id}) RETURN m.tmdbId")
+    List<Integer> findExistingTmdbIds(@Param("tmdbIds") List<Integer> tmdbIds);
+
     // --- Watchlist Logic (Remembering we use @Query here) ---
+    // Every change bumps u.watchlistVersion, which the watchlist ETag is built from.
 
     @Query("MATCH (u:User {keycloakId: $userId}) " +
             "MATCH (m:Movie {tmdbId: $tmdbId}) " +
             "MERGE (u)-[r:IN_WATCHLIST]->(m) " +
+            "SET u.watchlistVersion = coalesce(u.watchlistVersion, 0) + 1 " +
             "RETURN r")
     void addToWatchlist(@Param("userId") String userId, @Param("tmdbId") Integer tmdbId);
 
-    @Query("MATCH (u:User {keycloakId: $userId})-[r:IN_WATCHLIST]->(m:Movie {tmdbId: $tmdbId}) DELETE r RETURN count(r)")
+    @Query("MATCH (u:User {keycloakId: $userId})-[r:IN_WATCHLIST]->(m:Movie {tmdbId: $tmdbId}) " +
+            "DELETE r " +
+            "SET u.watchlistVersion = coalesce(u.watchlistVersion, 0) + 1 " +
+            "RETURN count(r)")
     int removeFromWatchlist(@Param("userId") String userId, @Param("tmdbId") Integer tmdbId);
 
+    @Query("MATCH (u:User {keycloakId: $userId}) RETURN coalesce(u.watchlistVersion, 0)")
+    Optional<Long> findWatchlistVersion(@Param("userId") String userId);
+
     @Query("MATCH (u:User {keycloakId: $userId})-[:IN_WATCHLIST]->(m:Movie {tmdbId: $tmdbId}) RETURN count(m) > 0")
     boolean isInWatchlist(@Param("userId") String userId, @Param("tmdbId") Integer tmdbId);
 
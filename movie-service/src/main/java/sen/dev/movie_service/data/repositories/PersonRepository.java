@@ -1,12 +1,25 @@
 package sen.dev.movie_service.data.repositories;
 
 import org.springframework.data.neo4j.repository.Neo4jRepository;
+import org.springframework.data.neo4j.repository.query.Query;
+import org.springframework.data.repository.query.Param;
 
 import sen.dev.movie_service.data.entities.PersonEntity;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface PersonRepository extends Neo4jRepository<PersonEntity, Long> {
 
     Optional<PersonEntity> findByTmdbId(Integer tmdbId);
-}
\ No newline at end of file
+
+    // Create-or-update many people (directors + cast) in one round-trip.
+    // Each map needs "tmdbId", "name" and "profilePath"; existing nodes take the current TMDB values
+    // (a null name keeps the old one, a null profilePath means TMDB no longer has a photo).
+    @Query("UNWIND $people AS person " +
+            "MERGE (p:Person {tmdbId: person.tmdbId}) " +
+            "SET p.name = coalesce(person.name, p.name), p.profilePath = person.profilePath " +
+            "RETURN p")
+    List<PersonEntity> upsertAll(@Param("people") List<Map<String, Object>> people);
+}
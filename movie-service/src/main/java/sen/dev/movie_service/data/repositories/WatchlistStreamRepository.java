@@ -0,0 +1,67 @@
+package sen.dev.movie_service.data.repositories;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import sen.dev.movie_service.web.dto.MovieSummaryDTO;
+
+/**
+ * Streams a user's watchlist record by record for exports.
+ *
+ * Unlike MovieRepository.findWatchlistByUserId, nothing is mapped into entities or collected
+ * into a list: rows are pulled from the driver (which fetches in batches) as the consumer
+ * writes them, so memory stays constant regardless of watchlist size.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WatchlistStreamRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    /**
+     * Returns the number of movies streamed.
+     */
+    public long streamWatchlist(String userId, Consumer<MovieSummaryDTO> consumer) {
+        return neo4jClient.delegateTo(runner -> {
+            Result result = runner.run(
+                    "MATCH (:User {keycloakId: $userId})-[:IN_WATCHLIST]->(m:Movie) " +
+                    "RETURN m.tmdbId AS tmdbId, m.title AS title, m.overview AS overview, " +
+                    "       m.posterPath AS posterPath, m.backdropPath AS backdropPath, " +
+                    "       m.voteAverage AS voteAverage, m.releaseYear AS releaseYear, " +
+                    "       [(m)-[:IN_GENRE]->(g:Genre) | g.name] AS genres " +
+                    "ORDER BY m.title",
+                    Map.of("userId", userId));
+            long count = 0;
+            while (result.hasNext()) {
+                consumer.accept(toSummary(result.next()));
+                count++;
+            }
+            return Optional.of(count);
+        }).run().orElse(0L);
+    }
+
+    private static MovieSummaryDTO toSummary(Record record) {
+        return MovieSummaryDTO.builder()
+                .tmdbId(isNull(record.get("tmdbId")) ? null : record.get("tmdbId").asInt())
+                .title(record.get("title").asString(null))
+                .overview(record.get("overview").asString(null))
+                .posterPath(record.get("posterPath").asString(null))
+                .backdropPath(record.get("backdropPath").asString(null))
+                .voteAverage(isNull(record.get("voteAverage")) ? null : record.get("voteAverage").asDouble())
+                .releaseYear(isNull(record.get("releaseYear")) ? null : record.get("releaseYear").asInt())
+                .genres(record.get("genres").asList(Value::asString))
+                .build();
+    }
+
+    private static boolean isNull(Value value) {
+        return value == null || value.isNull();
+    }
+}
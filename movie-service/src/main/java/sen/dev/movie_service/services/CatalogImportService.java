@@ -0,0 +1,19 @@
+package sen.dev.movie_service.services;
+
+import sen.dev.movie_service.web.dto.ImportStatusDTO;
+
+public interface CatalogImportService {
+
+    // --- BULK IMPORT (Pre-warm) ---
+    // Pages through the configured TMDB sources in the background and saves every
+    // movie that is not in Neo4j yet, so ratings and details work before anyone opens it.
+    // Progress is checkpointed per page; a restart resumes after the last saved page
+    // unless reset is requested. A source that completes drops its checkpoint, so the
+    // next run refreshes it from page 1.
+
+    ImportStatusDTO start(boolean reset);
+
+    ImportStatusDTO stop();
+
+    ImportStatusDTO getStatus();
+}
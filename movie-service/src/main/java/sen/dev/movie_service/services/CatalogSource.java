@@ -0,0 +1,11 @@
+package sen.dev.movie_service.services;
+
+/**
+ * TMDB listings the catalog import job pages through.
+ * TRENDING only has a single page; the others are paged up to the configured limit.
+ */
+public enum CatalogSource {
+    TRENDING,
+    TOP_RATED,
+    DISCOVER
+}
@@ -2,6 +2,8 @@ package sen.dev.movie_service.services;
 
 import java.util.List;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 import sen.dev.movie_service.web.dto.MovieDetailsDTO;
 import sen.dev.movie_service.web.dto.MovieSummaryDTO;
 
@@ -37,4 +39,12 @@ public interface MovieService {
     void removeFromWatchlist(Integer tmdbId);
 
     List<MovieSummaryDTO> getWatchlist();
+
+    // ETag of the current user's watchlist, from a version counter bumped on every add/remove.
+    // One property read, so unchanged watchlists are answered with 304 without loading them.
+    String getWatchlistETag();
+
+    // Exports the whole watchlist as NDJSON (one MovieSummaryDTO per line).
+    // The user is resolved now; rows are written when the returned body runs.
+    StreamingResponseBody exportWatchlist();
 }
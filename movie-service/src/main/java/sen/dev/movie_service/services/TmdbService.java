@@ -25,4 +25,11 @@ public interface TmdbService {
 
     // Discovery: Random Movies
     List<MovieSummaryDTO> fetchRandomMovies(int count) throws IOException;
+
+    // Bulk Import: TMDB ids listed on one page of a catalog source (empty past the last page)
+    List<Integer> fetchCatalogPageIds(CatalogSource source, int page) throws IOException;
+
+    // Bulk Import: details for many movies, fetched with bounded concurrency and mapped in one batch.
+    // Movies that fail to load are skipped, so the result may be shorter than the input.
+    List<MovieEntity> fetchAndMapMovieDetails(List<Integer> tmdbIds, int concurrency);
 }
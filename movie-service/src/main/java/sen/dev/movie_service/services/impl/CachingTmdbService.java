@@ -0,0 +1,148 @@
+package sen.dev.movie_service.services.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import sen.dev.movie_service.data.entities.MovieEntity;
+import sen.dev.movie_service.services.CatalogSource;
+import sen.dev.movie_service.services.TmdbService;
+import sen.dev.movie_service.web.dto.MovieSummaryDTO;
+
+/**
+ * Caching layer in front of {@link TmdbServiceImpl}.
+ *
+ * Discovery lists (trending, popular, search) change at most daily on TMDB's side,
+ * so they are served from bounded in-process caches instead of one Retrofit
+ * round-trip per request. Each endpoint has its own TTL and size bound:
+ * - once an entry is older than its refresh window, the next read returns the
+ * stale value immediately and reloads it in the background (stale-while-revalidate);
+ * - once it is older than its TTL, it is evicted and the next read blocks on TMDB.
+ *
+ * Hit/miss/eviction counters are published through Micrometer (cache.gets,
+ * cache.evictions, ...) tagged with the cache name, and visible via /actuator/metrics.
+ */
+@Service
+@Primary
+public class CachingTmdbService implements TmdbService {
+
+    private static final String SINGLE_KEY = "all";
+
+    private final TmdbServiceImpl delegate;
+
+    private final LoadingCache<String, List<MovieSummaryDTO>> trendingCache;
+    private final LoadingCache<String, List<MovieSummaryDTO>> popularCache;
+    private final LoadingCache<String, List<MovieSummaryDTO>> searchCache;
+
+    public CachingTmdbService(TmdbServiceImpl delegate,
+            MeterRegistry meterRegistry,
+            @Value("${tmdb.cache.trending.ttl:1h}") Duration trendingTtl,
+            @Value("${tmdb.cache.trending.refresh:10m}") Duration trendingRefresh,
+            @Value("${tmdb.cache.popular.ttl:12h}") Duration popularTtl,
+            @Value("${tmdb.cache.popular.refresh:1h}") Duration popularRefresh,
+            @Value("${tmdb.cache.search.ttl:30m}") Duration searchTtl,
+            @Value("${tmdb.cache.search.refresh:10m}") Duration searchRefresh,
+            @Value("${tmdb.cache.search.max-size:1000}") long searchMaxSize) {
+        this.delegate = delegate;
+        this.trendingCache = buildCache(meterRegistry, "tmdb.trending", trendingTtl, trendingRefresh, 1,
+                key -> List.copyOf(delegate.fetchTrendingMovies()));
+        this.popularCache = buildCache(meterRegistry, "tmdb.popular", popularTtl, popularRefresh, 1,
+                key -> List.copyOf(delegate.fetchPopularMovies()));
+        this.searchCache = buildCache(meterRegistry, "tmdb.search", searchTtl, searchRefresh, searchMaxSize,
+                key -> List.copyOf(delegate.searchMovies(key)));
+    }
+
+    // --- Cached discovery endpoints ---
+
+    @Override
+    public List<MovieSummaryDTO> fetchTrendingMovies() throws IOException {
+        return get(trendingCache, SINGLE_KEY);
+    }
+
+    @Override
+    public List<MovieSummaryDTO> fetchPopularMovies() throws IOException {
+        return get(popularCache, SINGLE_KEY);
+    }
+
+    @Override
+    public List<MovieSummaryDTO> searchMovies(String title) throws IOException {
+        if (title == null || title.isBlank()) {
+            return delegate.searchMovies(title);
+        }
+        // Normalize so "Inception", "inception " and "INCEPTION" share one entry
+        return get(searchCache, title.trim().toLowerCase(Locale.ROOT));
+    }
+
+    // --- Passthrough ---
+
+    @Override
+    public MovieEntity fetchAndMapMovieDetails(Integer tmdbId) throws IOException {
+        return delegate.fetchAndMapMovieDetails(tmdbId);
+    }
+
+    @Override
+    public List<MovieSummaryDTO> fetchSimilarMovies(Integer tmdbId) throws IOException {
+        return delegate.fetchSimilarMovies(tmdbId);
+    }
+
+    @Override
+    public List<MovieSummaryDTO> fetchRandomMovies(int count) throws IOException {
+        return delegate.fetchRandomMovies(count);
+    }
+
+    @Override
+    public List<Integer> fetchCatalogPageIds(CatalogSource source, int page) throws IOException {
+        return delegate.fetchCatalogPageIds(source, page);
+    }
+
+    @Override
+    public List<MovieEntity> fetchAndMapMovieDetails(List<Integer> tmdbIds, int concurrency) {
+        return delegate.fetchAndMapMovieDetails(tmdbIds, concurrency);
+    }
+
+    // --- Helpers ---
+
+    private static LoadingCache<String, List<MovieSummaryDTO>> buildCache(MeterRegistry meterRegistry,
+            String name, Duration ttl, Duration refresh, long maxSize,
+            CacheLoader<String, List<MovieSummaryDTO>> loader) {
+        LoadingCache<String, List<MovieSummaryDTO>> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refresh)
+                .recordStats()
+                .build(loader);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return cache;
+    }
+
+    /**
+     * Unwraps the CompletionException Caffeine uses for checked loader failures,
+     * so callers keep seeing the IOException declared by {@link TmdbService}.
+     */
+    private static List<MovieSummaryDTO> get(LoadingCache<String, List<MovieSummaryDTO>> cache, String key)
+            throws IOException {
+        try {
+            return cache.get(key);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package sen.dev.movie_service.services.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import sen.dev.movie_service.data.entities.MovieEntity;
+import sen.dev.movie_service.data.repositories.ImportCheckpointRepository;
+import sen.dev.movie_service.data.repositories.MovieRepository;
+import sen.dev.movie_service.exceptions.ConflictException;
+import sen.dev.movie_service.services.CatalogImportService;
+import sen.dev.movie_service.services.CatalogSource;
+import sen.dev.movie_service.services.TmdbService;
+import sen.dev.movie_service.web.dto.ImportStatusDTO;
+
+@Service
+@Slf4j
+public class CatalogImportServiceImpl implements CatalogImportService {
+
+    private final TmdbService tmdbService;
+    private final MovieRepository movieRepository;
+    private final ImportCheckpointRepository checkpointRepository;
+
+    private final List<CatalogSource> sources;
+    private final int maxPages;
+    private final int concurrency;
+    private final boolean importOnStartup;
+
+    private final Counter importedCounter;
+    private final Counter skippedCounter;
+    private final Counter failedCounter;
+    private final Timer pageTimer;
+
+    // --- Progress (read by getStatus while the worker thread writes) ---
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicBoolean stopRequested = new AtomicBoolean(false);
+    private final AtomicLong pagesProcessed = new AtomicLong();
+    private final AtomicLong moviesImported = new AtomicLong();
+    private final AtomicLong moviesSkipped = new AtomicLong();
+    private final AtomicLong moviesFailed = new AtomicLong();
+    private volatile CatalogSource currentSource;
+    private volatile Integer currentPage;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String lastError;
+
+    public CatalogImportServiceImpl(TmdbService tmdbService,
+            MovieRepository movieRepository,
+            ImportCheckpointRepository checkpointRepository,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.import.sources:TRENDING,TOP_RATED,DISCOVER}") List<CatalogSource> sources,
+            @Value("${catalog.import.max-pages:50}") int maxPages,
+            @Value("${catalog.import.concurrency:8}") int concurrency,
+            @Value("${catalog.import.on-startup:false}") boolean importOnStartup) {
+        this.tmdbService = tmdbService;
+        this.movieRepository = movieRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.sources = sources;
+        this.maxPages = maxPages;
+        this.concurrency = concurrency;
+        this.importOnStartup = importOnStartup;
+        this.importedCounter = meterRegistry.counter("catalog.import.movies", "result", "imported");
+        this.skippedCounter = meterRegistry.counter("catalog.import.movies", "result", "skipped");
+        this.failedCounter = meterRegistry.counter("catalog.import.movies", "result", "failed");
+        this.pageTimer = Timer.builder("catalog.import.page")
+                .description("Time to fetch and persist one TMDB listing page")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void importOnStartup() {
+        if (importOnStartup) {
+            start(false);
+        }
+    }
+
+    @Override
+    public ImportStatusDTO start(boolean reset) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("A catalog import is already running");
+        }
+
+        stopRequested.set(false);
+        pagesProcessed.set(0);
+        moviesImported.set(0);
+        moviesSkipped.set(0);
+        moviesFailed.set(0);
+        currentSource = null;
+        currentPage = null;
+        lastError = null;
+        startedAt = Instant.now();
+        finishedAt = null;
+
+        Thread.ofPlatform()
+                .name("catalog-import")
+                .daemon(true)
+                .start(() -> run(reset));
+
+        return getStatus();
+    }
+
+    @Override
+    public ImportStatusDTO stop() {
+        if (running.get()) {
+            stopRequested.set(true);
+        }
+        return getStatus();
+    }
+
+    @Override
+    public ImportStatusDTO getStatus() {
+        Instant start = startedAt;
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        double seconds = start == null ? 0 : Duration.between(start, end).toMillis() / 1000.0;
+
+        return ImportStatusDTO.builder()
+                .running(running.get())
+                .currentSource(currentSource != null ? currentSource.name() : null)
+                .currentPage(currentPage)
+                .pagesProcessed(pagesProcessed.get())
+                .moviesImported(moviesImported.get())
+                .moviesSkipped(moviesSkipped.get())
+                .moviesFailed(moviesFailed.get())
+                .moviesPerSecond(seconds > 0 ? moviesImported.get() / seconds : 0)
+                .startedAt(start)
+                .finishedAt(finishedAt)
+                .lastError(lastError)
+                .build();
+    }
+
+    // --- Worker ---
+
+    private void run(boolean reset) {
+        try {
+            if (reset) {
+                checkpointRepository.reset();
+            }
+
+            for (CatalogSource source : sources) {
+                currentSource = source;
+                int firstPage = checkpointRepository.findLastPage(source.name()).orElse(0) + 1;
+
+                for (int page = firstPage; page <= maxPages && !stopRequested.get(); page++) {
+                    final int pageNumber = page;
+                    currentPage = pageNumber;
+                    int listed = pageTimer.recordCallable(() -> importPage(source, pageNumber));
+                    checkpointRepository.saveLastPage(source.name(), page);
+                    pagesProcessed.incrementAndGet();
+
+                    if (listed == 0) {
+                        break; // past the last page TMDB serves for this source
+                    }
+                }
+
+                if (stopRequested.get()) {
+                    break;
+                }
+                // Source read to the end: the next run starts it over, only interrupted runs resume
+                checkpointRepository.clear(source.name());
+            }
+
+            log.info("Catalog import {}: {} imported, {} skipped, {} failed",
+                    stopRequested.get() ? "stopped" : "finished",
+                    moviesImported.get(), moviesSkipped.get(), moviesFailed.get());
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            log.error("Catalog import aborted on {} page {}: {}", currentSource, currentPage, e.getMessage(), e);
+        } finally {
+            finishedAt = Instant.now();
+            running.set(false);
+        }
+    }
+
+    /**
+     * Imports one listing page: skips movies already in Neo4j, fetches the rest from TMDB
+     * with bounded concurrency and persists them in a single transaction (saveAll). If that
+     * transaction fails, the page's movies are saved one at a time so a single bad movie only
+     * costs itself; the ones that still fail are counted and the import moves on.
+     *
+     * @return number of movies TMDB listed on the page (0 means the source is exhausted)
+     */
+    private int importPage(CatalogSource source, int page) throws Exception {
+        List<Integer> listedIds = tmdbService.fetchCatalogPageIds(source, page);
+        if (listedIds.isEmpty()) {
+            return 0;
+        }
+
+        Set<Integer> existing = new HashSet<>(movieRepository.findExistingTmdbIds(listedIds));
+        List<Integer> missingIds = listedIds.stream()
+                .distinct()
+                .filter(id -> !existing.contains(id))
+                .collect(Collectors.toList());
+
+        int skipped = listedIds.size() - missingIds.size();
+        moviesSkipped.addAndGet(skipped);
+        skippedCounter.increment(skipped);
+
+        if (!missingIds.isEmpty()) {
+            List<MovieEntity> movies = tmdbService.fetchAndMapMovieDetails(missingIds, concurrency);
+            int saved = save(source, page, movies);
+
+            int failed = missingIds.size() - saved;
+            moviesImported.addAndGet(saved);
+            importedCounter.increment(saved);
+            moviesFailed.addAndGet(failed);
+            failedCounter.increment(failed);
+        }
+
+        log.debug("Imported {} page {}: {} listed, {} new", source, page, listedIds.size(), missingIds.size());
+        return listedIds.size();
+    }
+
+    /**
+     * Saves one page of movies, falling back to one transaction per movie when the batch fails.
+     *
+     * @return number of movies persisted
+     */
+    private int save(CatalogSource source, int page, List<MovieEntity> movies) {
+        try {
+            movieRepository.saveAll(movies);
+            return movies.size();
+        } catch (RuntimeException e) {
+            log.warn("Saving {} page {} failed, retrying its {} movies one by one: {}",
+                    source, page, movies.size(), e.getMessage());
+        }
+
+        int saved = 0;
+        for (MovieEntity movie : movies) {
+            try {
+                movieRepository.save(movie);
+                saved++;
+            } catch (RuntimeException e) {
+                lastError = "Movie " + movie.getTmdbId() + ": " + e.getMessage();
+                log.warn("Skipping movie {} from {} page {}: {}", movie.getTmdbId(), source, page, e.getMessage());
+            }
+        }
+        return saved;
+    }
+}
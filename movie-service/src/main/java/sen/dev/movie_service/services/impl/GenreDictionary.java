@@ -0,0 +1,83 @@
+package sen.dev.movie_service.services.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable TMDB genre ID → name lookup backed by two parallel arrays
+ * (sorted ids + names) and resolved by binary search.
+ *
+ * TMDB has ~20 movie genres, so this is a few hundred bytes with no boxing or hashing
+ * per lookup. A refresh builds a new instance and swaps the reference.
+ */
+final class GenreDictionary {
+
+    static final String UNKNOWN = "Unknown";
+
+    static final GenreDictionary EMPTY = new GenreDictionary(new int[0], new String[0]);
+
+    private final int[] ids;
+    private final String[] names;
+
+    private GenreDictionary(int[] ids, String[] names) {
+        this.ids = ids;
+        this.names = names;
+    }
+
+    static GenreDictionary of(Map<Integer, String> genres) {
+        TreeMap<Integer, String> sorted = new TreeMap<>();
+        genres.forEach((id, name) -> {
+            if (id != null && name != null) {
+                sorted.put(id, name);
+            }
+        });
+
+        int[] ids = new int[sorted.size()];
+        String[] names = new String[sorted.size()];
+        int i = 0;
+        for (Map.Entry<Integer, String> entry : sorted.entrySet()) {
+            ids[i] = entry.getKey();
+            names[i] = entry.getValue();
+            i++;
+        }
+        return new GenreDictionary(ids, names);
+    }
+
+    /**
+     * Returns a dictionary with the given genres added or renamed.
+     */
+    GenreDictionary merge(Map<Integer, String> genres) {
+        Map<Integer, String> merged = new TreeMap<>(genres);
+        for (int i = 0; i < ids.length; i++) {
+            merged.putIfAbsent(ids[i], names[i]);
+        }
+        return of(merged);
+    }
+
+    boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    String name(int id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 ? names[index] : UNKNOWN;
+    }
+
+    /**
+     * Resolves ids in order; the result is a fixed-size view over a single array.
+     */
+    List<String> resolve(List<Integer> genreIds) {
+        String[] resolved = new String[genreIds.size()];
+        for (int i = 0; i < resolved.length; i++) {
+            Integer id = genreIds.get(i);
+            resolved[i] = id != null ? name(id) : UNKNOWN;
+        }
+        return Arrays.asList(resolved);
+    }
+}
@@ -1,16 +1,27 @@
 package sen.dev.movie_service.services.impl;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.ObjectMapper;
 import sen.dev.movie_service.data.entities.MovieEntity;
 import sen.dev.movie_service.data.repositories.MovieRepository;
+import sen.dev.movie_service.data.repositories.WatchlistStreamRepository;
 import sen.dev.movie_service.exceptions.BadRequestException;
 import sen.dev.movie_service.exceptions.ConflictException;
 import sen.dev.movie_service.exceptions.InternalServerErrorException;
@@ -26,6 +37,16 @@ public class MovieServiceImpl implements MovieService {
 
     private final MovieRepository movieRepository;
     private final TmdbService tmdbService;
+    private final MeterRegistry meterRegistry;
+    private final WatchlistStreamRepository watchlistStreamRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * In-flight TMDB fetch+persist per tmdbId.
+     * Concurrent cache misses for the same movie join the first caller's load
+     * instead of each hitting TMDB and saving a duplicate Movie node.
+     */
+    private final ConcurrentMap<Integer, CompletableFuture<MovieEntity>> inFlightLoads = new ConcurrentHashMap<>();
 
     // --- 1. DISCOVERY METHODS (Passthrough) ---
 
@@ -91,10 +112,9 @@ public class MovieServiceImpl implements MovieService {
         if (existingMovie.isPresent()) {
             movieEntity = existingMovie.get();
         } else {
-            // 2. If not found, fetch from TMDB and Save
+            // 2. If not found, fetch from TMDB and Save (shared with concurrent callers)
             try {
-                movieEntity = tmdbService.fetchAndMapMovieDetails(tmdbId);
-                movieRepository.save(movieEntity);
+                movieEntity = loadAndPersist(tmdbId);
             } catch (Exception e) {
                 throw new NotFoundException("Movie with tmdbId " + tmdbId + " not found");
             }
@@ -155,22 +175,88 @@ public class MovieServiceImpl implements MovieService {
                 .toList();
     }
 
+    @Override
+    public String getWatchlistETag() {
+        String userId = getAuthenticatedUserId();
+        long version = movieRepository.findWatchlistVersion(userId).orElse(0L);
+        // The user hash keeps two accounts sharing a browser cache from matching each other's tags
+        return "\"w-" + Integer.toHexString(userId.hashCode()) + "-" + version + "\"";
+    }
+
+    @Override
+    public StreamingResponseBody exportWatchlist() {
+        // Resolve the user on the request thread; the body runs later on an async thread
+        String userId = getAuthenticatedUserId();
+        return outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, 16 * 1024);
+            try {
+                watchlistStreamRepository.streamWatchlist(userId, movie -> writeLine(out, movie));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+    }
+
     // --- Helper Methods ---
 
+    /**
+     * Writes one NDJSON line. An IOException means the client went away,
+     * so it is rethrown unchecked to stop pulling rows from Neo4j.
+     */
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Ensures movie exists in DB. If not, fetches from TMDB and saves it.
      */
     private void ensureMovieExists(Integer tmdbId) {
         if (movieRepository.findByTmdbId(tmdbId).isEmpty()) {
             try {
-                MovieEntity movieEntity = tmdbService.fetchAndMapMovieDetails(tmdbId);
-                movieRepository.save(movieEntity);
+                loadAndPersist(tmdbId);
             } catch (Exception e) {
                 throw new NotFoundException("Movie with tmdbId " + tmdbId + " not found in TMDB");
             }
         }
     }
 
+    /**
+     * Fetches a movie from TMDB and saves it, coalescing concurrent calls for the same tmdbId.
+     * The first caller (leader) does the work; callers arriving while it is in flight wait
+     * for the same result and are counted in the "movie.details.coalesced" metric.
+     */
+    private MovieEntity loadAndPersist(Integer tmdbId) throws Exception {
+        CompletableFuture<MovieEntity> load = new CompletableFuture<>();
+        CompletableFuture<MovieEntity> inFlight = inFlightLoads.putIfAbsent(tmdbId, load);
+
+        if (inFlight != null) {
+            meterRegistry.counter("movie.details.coalesced").increment();
+            return inFlight.join();
+        }
+
+        meterRegistry.counter("movie.details.loads").increment();
+        try {
+            // A previous leader may have saved it between our DB miss and now
+            Optional<MovieEntity> existing = movieRepository.findByTmdbId(tmdbId);
+            MovieEntity movieEntity = existing.isPresent()
+                    ? existing.get()
+                    : movieRepository.save(tmdbService.fetchAndMapMovieDetails(tmdbId));
+            load.complete(movieEntity);
+            return movieEntity;
+        } catch (Exception e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(tmdbId, load);
+        }
+    }
+
     /**
      * Extracts the authenticated user's Keycloak ID (sub claim) from
      * SecurityContextHolder.
@@ -2,6 +2,7 @@ package sen.dev.movie_service.services.impl;
 
 import com.uwetrottmann.tmdb2.DiscoverMovieBuilder;
 import com.uwetrottmann.tmdb2.Tmdb;
+import com.uwetrottmann.tmdb2.entities.AppendToResponse;
 import com.uwetrottmann.tmdb2.entities.Credits;
 import com.uwetrottmann.tmdb2.entities.Genre;
 import com.uwetrottmann.tmdb2.entities.GenreResults;
@@ -9,6 +10,7 @@ import com.uwetrottmann.tmdb2.entities.BaseMovie;
 import com.uwetrottmann.tmdb2.entities.Movie;
 import com.uwetrottmann.tmdb2.entities.MovieResultsPage;
 import com.uwetrottmann.tmdb2.entities.TrendingResultsPage;
+import com.uwetrottmann.tmdb2.enumerations.AppendToResponseItem;
 import com.uwetrottmann.tmdb2.enumerations.MediaType;
 import com.uwetrottmann.tmdb2.enumerations.TimeWindow;
 import com.uwetrottmann.tmdb2.services.MoviesService;
@@ -16,26 +18,34 @@ import com.uwetrottmann.tmdb2.services.MoviesService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.annotation.PostConstruct;
 import retrofit2.Response;
 import sen.dev.movie_service.data.entities.GenreEntity;
 import sen.dev.movie_service.data.entities.MovieEntity;
 import sen.dev.movie_service.data.entities.PersonEntity;
 import sen.dev.movie_service.data.repositories.GenreRepository;
 import sen.dev.movie_service.data.repositories.PersonRepository;
+import sen.dev.movie_service.services.CatalogSource;
 import sen.dev.movie_service.services.TmdbService;
 import sen.dev.movie_service.web.dto.MovieSummaryDTO;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
@@ -48,8 +58,8 @@ public class TmdbServiceImpl implements TmdbService {
     private final GenreRepository genreRepository;
     private final PersonRepository personRepository;
 
-    /** Lazy-loaded cache: TMDB genre ID → genre name. */
-    private final Map<Integer, String> genreCache = new ConcurrentHashMap<>();
+    /** TMDB genre ID → genre name, warm-started at boot and swapped on refresh. */
+    private volatile GenreDictionary genres = GenreDictionary.EMPTY;
 
     public TmdbServiceImpl(@Value("${tmdb.api.key}") String tmdbApiKey,
             GenreRepository genreRepository,
@@ -60,32 +70,83 @@ public class TmdbServiceImpl implements TmdbService {
     }
 
     /**
-     * Returns genre names for the given TMDB genre IDs.
-     * The genre map is fetched once from TMDB and cached in memory.
+     * Returns genre names for the given TMDB genre IDs ("Unknown" for ids not in the dictionary).
+     * Never calls TMDB: the dictionary is loaded at startup and refreshed in the background.
      */
     public List<String> resolveGenreNames(List<Integer> genreIds) {
         if (genreIds == null || genreIds.isEmpty()) {
             return List.of();
         }
-        ensureGenreCacheLoaded();
-        return genreIds.stream()
-                .map(id -> genreCache.getOrDefault(id, "Unknown"))
-                .collect(Collectors.toList());
+        return genres.resolve(genreIds);
+    }
+
+    // --- Genre Dictionary ---
+
+    /**
+     * Loads the dictionary from the Genre nodes already in Neo4j, falling back to TMDB
+     * (and persisting its list) when the graph has none yet.
+     */
+    @PostConstruct
+    void loadGenres() {
+        try {
+            Map<Integer, String> stored = new HashMap<>();
+            for (GenreEntity genre : genreRepository.findAll()) {
+                stored.put(genre.getTmdbId(), genre.getName());
+            }
+            genres = GenreDictionary.of(stored);
+        } catch (RuntimeException e) {
+            log.warn("Failed to load genres from Neo4j: {}", e.getMessage());
+        }
+
+        if (genres.isEmpty()) {
+            refreshGenres();
+        } else {
+            log.info("Loaded {} genres from Neo4j", genres.size());
+        }
     }
 
-    private void ensureGenreCacheLoaded() {
-        if (!genreCache.isEmpty()) {
-            return;
+    /**
+     * Retries the TMDB load on a short interval while the dictionary is still empty (no Genre
+     * nodes in the graph and the startup call failed), so ingested movies do not get "Unknown"
+     * genres until the next daily refresh. A no-op once any genre is known.
+     */
+    @Scheduled(fixedDelayString = "${tmdb.genres.retry-interval:1m}",
+            initialDelayString = "${tmdb.genres.retry-interval:1m}")
+    public void retryEmptyGenres() {
+        if (genres.isEmpty()) {
+            refreshGenres();
         }
+    }
+
+    /**
+     * Pulls the current TMDB genre list, stores new genres in Neo4j and swaps the dictionary.
+     * On failure the previous dictionary is kept and the next run retries.
+     */
+    @Scheduled(fixedDelayString = "${tmdb.genres.refresh-interval:24h}",
+            initialDelayString = "${tmdb.genres.refresh-interval:24h}")
+    public synchronized void refreshGenres() {
         try {
             Response<GenreResults> response = tmdb.genreService().movie("en-US").execute();
-            if (response.isSuccessful() && response.body() != null && response.body().genres != null) {
-                for (Genre g : response.body().genres) {
-                    genreCache.put(g.id, g.name);
-                }
+            if (!response.isSuccessful() || response.body() == null || response.body().genres == null) {
+                log.warn("Failed to refresh TMDB genre list: HTTP {}", response.code());
+                return;
+            }
+
+            Map<Integer, String> fetched = new HashMap<>();
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (Genre g : response.body().genres) {
+                fetched.put(g.id, g.name);
+                rows.add(genreRow(g.id, g.name));
             }
-        } catch (IOException e) {
-            log.warn("Failed to load TMDB genre list: {}", e.getMessage());
+
+            genres = genres.merge(fetched);
+            log.info("Refreshed genre dictionary from TMDB ({} genres)", genres.size());
+
+            if (!rows.isEmpty()) {
+                genreRepository.upsertAll(rows);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to refresh TMDB genre list: {}", e.getMessage());
         }
     }
 
@@ -133,10 +194,56 @@ public class TmdbServiceImpl implements TmdbService {
 
     @Override
     public MovieEntity fetchAndMapMovieDetails(Integer tmdbId) throws IOException {
+        return mapToEntities(List.of(fetchMovieWithCredits(tmdbId))).get(0);
+    }
+
+    @Override
+    public List<MovieEntity> fetchAndMapMovieDetails(List<Integer> tmdbIds, int concurrency) {
+        if (tmdbIds.isEmpty()) {
+            return List.of();
+        }
+
+        // Virtual thread per movie; the semaphore caps how many TMDB calls are in flight
+        Semaphore permits = new Semaphore(Math.max(concurrency, 1));
+        List<Future<Movie>> futures = new ArrayList<>(tmdbIds.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Integer tmdbId : tmdbIds) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return fetchMovieWithCredits(tmdbId);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<Movie> movies = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                movies.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.warn("Skipping movie {}: {}", tmdbIds.get(i), e.getCause().getMessage());
+            }
+        }
+
+        return mapToEntities(movies);
+    }
+
+    /**
+     * Fetches one movie with its credits embedded (append_to_response=credits).
+     */
+    private Movie fetchMovieWithCredits(Integer tmdbId) throws IOException {
         MoviesService moviesService = tmdb.moviesService();
 
-        // 1. Get Basic Movie Details
-        Response<Movie> movieResponse = moviesService.summary(tmdbId, "en-US").execute();
+        // 1. Get Basic Movie Details + Credits in a single round-trip (append_to_response=credits)
+        Response<Movie> movieResponse = moviesService
+                .summary(tmdbId, "en-US", new AppendToResponse(AppendToResponseItem.CREDITS))
+                .execute();
 
         if (!movieResponse.isSuccessful() || movieResponse.body() == null) {
             throw new RuntimeException("Failed to fetch movie details from TMDB for ID: " + tmdbId);
@@ -144,12 +251,68 @@ public class TmdbServiceImpl implements TmdbService {
 
         Movie tmdbMovie = movieResponse.body();
 
-        // 2. Get Credits (Cast & Crew)
-        Response<Credits> creditsResponse = moviesService.credits(tmdbId).execute();
-        Credits credits = (creditsResponse.isSuccessful()) ? creditsResponse.body() : new Credits();
+        // 2. Credits (Cast & Crew) are embedded; only fall back to a second call if TMDB omitted them
+        if (tmdbMovie.credits == null) {
+            Response<Credits> creditsResponse = moviesService.credits(tmdbId).execute();
+            tmdbMovie.credits = (creditsResponse.isSuccessful() && creditsResponse.body() != null)
+                    ? creditsResponse.body()
+                    : new Credits();
+        }
 
-        // 3. Map to our Entity
-        return mapToEntity(tmdbMovie, credits);
+        return tmdbMovie;
+    }
+
+    @Override
+    public List<Integer> fetchCatalogPageIds(CatalogSource source, int page) throws IOException {
+        List<BaseMovie> results;
+
+        switch (source) {
+            case TRENDING -> {
+                if (page > 1) {
+                    return List.of();
+                }
+                Response<TrendingResultsPage> response = tmdb.trendingService()
+                        .trending(MediaType.MOVIE, TimeWindow.WEEK)
+                        .execute();
+                if (!response.isSuccessful() || response.body() == null || response.body().results == null) {
+                    throw new RuntimeException("Failed to fetch trending page from TMDB");
+                }
+                results = response.body().results.stream().map(t -> t.movie).collect(Collectors.toList());
+            }
+            case TOP_RATED -> {
+                Response<MovieResultsPage> response = tmdb.moviesService()
+                        .topRated(page, "en-US", null)
+                        .execute();
+                results = pageResults(response, source, page);
+            }
+            case DISCOVER -> {
+                Response<MovieResultsPage> response = new DiscoverMovieBuilder(tmdb.discoverService())
+                        .language("en-US")
+                        .sort_by(com.uwetrottmann.tmdb2.enumerations.SortBy.POPULARITY_DESC)
+                        .vote_count_gte(50)
+                        .page(page)
+                        .build()
+                        .execute();
+                results = pageResults(response, source, page);
+            }
+            default -> throw new IllegalArgumentException("Unknown catalog source: " + source);
+        }
+
+        return results.stream()
+                .filter(m -> m != null && m.id != null)
+                .map(m -> m.id)
+                .collect(Collectors.toList());
+    }
+
+    private List<BaseMovie> pageResults(Response<MovieResultsPage> response, CatalogSource source, int page) {
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new RuntimeException("Failed to fetch " + source + " page " + page + " from TMDB");
+        }
+        MovieResultsPage body = response.body();
+        if (body.results == null || (body.total_pages != null && page > body.total_pages)) {
+            return List.of();
+        }
+        return body.results;
     }
 
     @Override
@@ -191,8 +354,73 @@ public class TmdbServiceImpl implements TmdbService {
                 .collect(Collectors.toList());
     }
 
-    private MovieEntity mapToEntity(Movie tmdbMovie, Credits credits) {
-        MovieEntity.MovieEntityBuilder builder = MovieEntity.builder()
+    /**
+     * Maps a batch of TMDB movies (credits embedded) to entities.
+     * Genres and people across the whole batch are resolved with one UNWIND/MERGE
+     * statement each, instead of a find + save round-trip per genre and per person.
+     */
+    List<MovieEntity> mapToEntities(List<Movie> tmdbMovies) {
+        List<MovieRefs> refs = new ArrayList<>(tmdbMovies.size());
+        Map<Integer, Map<String, Object>> genreRows = new LinkedHashMap<>();
+        Map<Integer, Map<String, Object>> personRows = new LinkedHashMap<>();
+
+        for (Movie tmdbMovie : tmdbMovies) {
+            List<Integer> genreIds = new ArrayList<>();
+            if (tmdbMovie.genres != null) {
+                for (Genre g : tmdbMovie.genres) {
+                    if (g.id != null) {
+                        genreIds.add(g.id);
+                        genreRows.putIfAbsent(g.id, genreRow(g.id, g.name));
+                    }
+                }
+            }
+
+            Credits credits = tmdbMovie.credits != null ? tmdbMovie.credits : new Credits();
+
+            // --- Directors ---
+            List<Integer> directorIds = new ArrayList<>();
+            if (credits.crew != null) {
+                credits.crew.stream()
+                        .filter(c -> c.id != null && "Director".equalsIgnoreCase(c.job))
+                        .forEach(c -> {
+                            directorIds.add(c.id);
+                            personRows.putIfAbsent(c.id, personRow(c.id, c.name, c.profile_path));
+                        });
+            }
+
+            // --- Cast (Top 5) ---
+            List<Integer> castIds = new ArrayList<>();
+            if (credits.cast != null) {
+                credits.cast.stream()
+                        .filter(c -> c.id != null)
+                        .limit(5)
+                        .forEach(c -> {
+                            castIds.add(c.id);
+                            personRows.putIfAbsent(c.id, personRow(c.id, c.name, c.profile_path));
+                        });
+            }
+
+            refs.add(new MovieRefs(tmdbMovie, genreIds, directorIds, castIds));
+        }
+
+        Map<Integer, GenreEntity> genresById = genreRows.isEmpty()
+                ? Map.of()
+                : genreRepository.upsertAll(new ArrayList<>(genreRows.values())).stream()
+                        .collect(Collectors.toMap(GenreEntity::getTmdbId, g -> g, (a, b) -> a));
+        Map<Integer, PersonEntity> peopleById = personRows.isEmpty()
+                ? Map.of()
+                : personRepository.upsertAll(new ArrayList<>(personRows.values())).stream()
+                        .collect(Collectors.toMap(PersonEntity::getTmdbId, p -> p, (a, b) -> a));
+
+        return refs.stream()
+                .map(ref -> mapToEntity(ref, genresById, peopleById))
+                .collect(Collectors.toList());
+    }
+
+    private MovieEntity mapToEntity(MovieRefs ref, Map<Integer, GenreEntity> genresById,
+            Map<Integer, PersonEntity> peopleById) {
+        Movie tmdbMovie = ref.movie();
+        return MovieEntity.builder()
                 .tmdbId(tmdbMovie.id)
                 .title(tmdbMovie.title)
                 .overview(tmdbMovie.overview)
@@ -200,58 +428,40 @@ public class TmdbServiceImpl implements TmdbService {
                 .posterPath(tmdbMovie.poster_path)
                 .backdropPath(tmdbMovie.backdrop_path)
                 .voteAverage(tmdbMovie.vote_average)
-                .runtime(tmdbMovie.runtime);
+                .runtime(tmdbMovie.runtime)
+                .genres(lookup(ref.genreIds(), genresById))
+                .directors(lookup(ref.directorIds(), peopleById))
+                .cast(lookup(ref.castIds(), peopleById))
+                .build();
+    }
 
-        // --- Map Genres ---
-        Set<GenreEntity> genreEntities = new HashSet<>();
-        if (tmdbMovie.genres != null) {
-            for (Genre g : tmdbMovie.genres) {
-                genreEntities.add(findOrCreateGenre(g.id, g.name));
+    private static <T> Set<T> lookup(List<Integer> ids, Map<Integer, T> byId) {
+        Set<T> result = new HashSet<>();
+        for (Integer id : ids) {
+            T entity = byId.get(id);
+            if (entity != null) {
+                result.add(entity);
             }
         }
-        builder.genres(genreEntities);
-
-        // --- Map Directors ---
-        Set<PersonEntity> directors = new HashSet<>();
-        if (credits.crew != null) {
-            directors = credits.crew.stream()
-                    .filter(c -> "Director".equalsIgnoreCase(c.job))
-                    .map(c -> findOrCreatePerson(c.id, c.name, c.profile_path))
-                    .collect(Collectors.toSet());
-        }
-        builder.directors(directors);
-
-        // --- Map Cast (Top 5) ---
-        Set<PersonEntity> cast = new HashSet<>();
-        if (credits.cast != null) {
-            cast = credits.cast.stream()
-                    .limit(5)
-                    .map(c -> findOrCreatePerson(c.id, c.name, c.profile_path))
-                    .collect(Collectors.toSet());
-        }
-        builder.cast(cast);
+        return result;
+    }
 
-        return builder.build();
+    private static Map<String, Object> genreRow(Integer tmdbId, String name) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("tmdbId", tmdbId);
+        row.put("name", name);
+        return row;
     }
 
-    @Transactional
-    public GenreEntity findOrCreateGenre(Integer tmdbId, String name) {
-        return genreRepository.findByTmdbId(tmdbId)
-                .orElseGet(() -> genreRepository.save(
-                        GenreEntity.builder()
-                                .tmdbId(tmdbId)
-                                .name(name)
-                                .build()));
+    private static Map<String, Object> personRow(Integer tmdbId, String name, String profilePath) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("tmdbId", tmdbId);
+        row.put("name", name);
+        row.put("profilePath", profilePath);
+        return row;
     }
 
-    @Transactional
-    public PersonEntity findOrCreatePerson(Integer tmdbId, String name, String profilePath) {
-        return personRepository.findByTmdbId(tmdbId)
-                .orElseGet(() -> personRepository.save(
-                        PersonEntity.builder()
-                                .tmdbId(tmdbId)
-                                .name(name)
-                                .profilePath(profilePath)
-                                .build()));
+    /** TMDB ids a movie links to, collected before the batched genre/person upsert. */
+    private record MovieRefs(Movie movie, List<Integer> genreIds, List<Integer> directorIds, List<Integer> castIds) {
     }
-}
\ No newline at end of file
+}
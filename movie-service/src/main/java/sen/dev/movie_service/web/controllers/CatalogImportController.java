@@ -0,0 +1,27 @@
+package sen.dev.movie_service.web.controllers;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import sen.dev.movie_service.web.dto.ImportStatusDTO;
+
+@RequestMapping("/api/movies/admin/import")
+@PreAuthorize("hasRole('ADMIN')")
+public interface CatalogImportController {
+
+    // --- Bulk Catalog Import (Admin only) ---
+
+    @PostMapping
+    ResponseEntity<ImportStatusDTO> startImport(@RequestParam(defaultValue = "false") boolean reset);
+
+    @GetMapping
+    ResponseEntity<ImportStatusDTO> getImportStatus();
+
+    @DeleteMapping
+    ResponseEntity<ImportStatusDTO> stopImport();
+}
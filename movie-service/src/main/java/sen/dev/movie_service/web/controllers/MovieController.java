@@ -3,12 +3,14 @@ package sen.dev.movie_service.web.controllers;
 import java.util.List;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
 import sen.dev.movie_service.web.dto.MovieDetailsDTO;
 import sen.dev.movie_service.web.dto.MovieSummaryDTO;
@@ -35,6 +37,7 @@ public interface MovieController {
 
     // --- Details ---
 
+    // Carries an ETag; a matching If-None-Match gets 304 Not Modified
     @GetMapping("/{tmdbId}")
     ResponseEntity<MovieDetailsDTO> getMovieDetails(@PathVariable Integer tmdbId);
 
@@ -46,6 +49,11 @@ public interface MovieController {
     @DeleteMapping("/{tmdbId}/watchlist")
     ResponseEntity<Void> removeFromWatchlist(@PathVariable Integer tmdbId);
 
+    // Carries an ETag; a matching If-None-Match gets 304 without the watchlist being loaded
     @GetMapping("/watchlist")
-    ResponseEntity<List<MovieSummaryDTO>> getWatchlist();
+    ResponseEntity<List<MovieSummaryDTO>> getWatchlist(WebRequest webRequest);
+
+    // Whole watchlist as NDJSON (application/x-ndjson), streamed row by row
+    @GetMapping("/watchlist/export")
+    ResponseEntity<StreamingResponseBody> exportWatchlist();
 }
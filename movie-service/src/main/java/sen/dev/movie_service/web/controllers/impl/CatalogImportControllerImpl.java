@@ -0,0 +1,34 @@
+package sen.dev.movie_service.web.controllers.impl;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import sen.dev.movie_service.services.CatalogImportService;
+import sen.dev.movie_service.web.controllers.CatalogImportController;
+import sen.dev.movie_service.web.dto.ImportStatusDTO;
+
+@RestController
+@RequiredArgsConstructor
+public class CatalogImportControllerImpl implements CatalogImportController {
+
+    private final CatalogImportService catalogImportService;
+
+    @Override
+    public ResponseEntity<ImportStatusDTO> startImport(boolean reset) {
+        ImportStatusDTO status = catalogImportService.start(reset);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+    }
+
+    @Override
+    public ResponseEntity<ImportStatusDTO> getImportStatus() {
+        return ResponseEntity.ok(catalogImportService.getStatus());
+    }
+
+    @Override
+    public ResponseEntity<ImportStatusDTO> stopImport() {
+        ImportStatusDTO status = catalogImportService.stop();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+    }
+}
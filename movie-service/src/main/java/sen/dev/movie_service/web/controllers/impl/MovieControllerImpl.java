@@ -2,8 +2,12 @@ package sen.dev.movie_service.web.controllers.impl;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import lombok.RequiredArgsConstructor;
 import sen.dev.movie_service.services.MovieService;
@@ -15,6 +19,8 @@ import sen.dev.movie_service.web.dto.MovieSummaryDTO;
 @RequiredArgsConstructor
 public class MovieControllerImpl implements MovieController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final MovieService movieService;
 
     // --- Discovery ---
@@ -55,7 +61,10 @@ public class MovieControllerImpl implements MovieController {
     @Override
     public ResponseEntity<MovieDetailsDTO> getMovieDetails(Integer tmdbId) {
         MovieDetailsDTO movieDetails = movieService.getMovieByTmdbId(tmdbId);
-        return ResponseEntity.ok(movieDetails);
+        // Weak tag from the DTO's content hash: Spring answers a matching If-None-Match with 304
+        // before the body is serialized
+        String etag = "W/\"" + Integer.toHexString(movieDetails.hashCode()) + "\"";
+        return ResponseEntity.ok().eTag(etag).body(movieDetails);
     }
 
     // --- Watchlist Actions ---
@@ -73,8 +82,20 @@ public class MovieControllerImpl implements MovieController {
     }
 
     @Override
-    public ResponseEntity<List<MovieSummaryDTO>> getWatchlist() {
+    public ResponseEntity<List<MovieSummaryDTO>> getWatchlist(WebRequest webRequest) {
+        // checkNotModified sets the ETag header, and the 304 status when it matches
+        if (webRequest.checkNotModified(movieService.getWatchlistETag())) {
+            return null; // response already complete
+        }
         List<MovieSummaryDTO> watchlist = movieService.getWatchlist();
         return ResponseEntity.ok(watchlist);
     }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportWatchlist() {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"watchlist.ndjson\"")
+                .body(movieService.exportWatchlist());
+    }
 }
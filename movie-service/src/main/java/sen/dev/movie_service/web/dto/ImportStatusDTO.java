@@ -0,0 +1,26 @@
+package sen.dev.movie_service.web.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportStatusDTO {
+    private boolean running;
+    private String currentSource;
+    private Integer currentPage;
+    private long pagesProcessed;
+    private long moviesImported;
+    private long moviesSkipped;
+    private long moviesFailed;
+    private double moviesPerSecond;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String lastError;
+}
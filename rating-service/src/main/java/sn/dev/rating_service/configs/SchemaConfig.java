@@ -0,0 +1,24 @@
+package sn.dev.rating_service.configs;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import sn.dev.schema.SchemaMigration;
+import sn.dev.schema.SchemaMigrations;
+
+/**
+ * Neo4j schema owned by rating-service: the RATED.timestamp index behind the newest-first rating
+ * history, the movie review pages and their keyset cursors. Applied and health-checked by the
+ * shared schema-migrations module; entries are append-only once shipped.
+ */
+@Configuration
+public class SchemaConfig {
+
+    @Bean
+    public SchemaMigrations schemaMigrations() {
+        return SchemaMigrations.of(
+                new SchemaMigration(1, "Index RATED.timestamp",
+                        "CREATE INDEX rated_timestamp IF NOT EXISTS FOR ()-[r:RATED]-() ON (r.timestamp)",
+                        "rated_timestamp"));
+    }
+}
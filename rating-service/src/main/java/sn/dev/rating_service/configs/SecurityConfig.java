@@ -1,5 +1,6 @@
 package sn.dev.rating_service.configs;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -11,9 +12,13 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import sn.dev.security.jwt.KeycloakJwtDecoders;
+
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -34,11 +39,13 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
 
                         // --- ACTUATOR ENDPOINTS (Health checks) ---
-                        .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
 
                         // --- PUBLIC ACCESS ---
-                        // Anyone can view the average rating or reviews of a movie
+                        // Anyone can view the average rating, distribution or reviews of a movie
                         .requestMatchers(HttpMethod.GET, "/api/ratings/movie/*/average").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/ratings/movie/*/distribution").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/ratings/movies/summary").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/ratings/movie/*/reviews").permitAll()
 
                         // --- AUTHENTICATED ACCESS ---
@@ -46,6 +53,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/ratings").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/api/ratings/**").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/ratings").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/ratings/export").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/ratings/movie/*").authenticated()
 
                         .anyRequest().permitAll())
@@ -55,6 +63,15 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Keycloak verification behind the shared verified-token cache (security-jwt module)
+    @Bean
+    public JwtDecoder jwtDecoder(MeterRegistry meterRegistry,
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri:}") String jwkSetUri,
+            @Value("${security.jwt.cache.max-size:10000}") long cacheMaxSize) {
+        return KeycloakJwtDecoders.cached(issuerUri, jwkSetUri, cacheMaxSize, meterRegistry);
+    }
+
     /**
      * Maps Keycloak realm_access.roles to Spring Security GrantedAuthority.
      * Enables @PreAuthorize("hasRole('ADMIN')") and similar annotations.
@@ -1,12 +1,15 @@
 package sn.dev.rating_service.data.repositories;
 
+import org.neo4j.driver.Result;
 import org.springframework.data.neo4j.core.Neo4jClient;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Repository for managing RATED relationships between User and Movie nodes.
@@ -17,6 +20,44 @@ import java.util.Optional;
 @Repository
 public class RatingRepository {
 
+    // Keyset pagination on (timestamp, elementId): elementId breaks ties between equal timestamps
+    private static final String KEYSET_WHERE =
+            "WITH u, r, m " +
+            "WHERE $cursorTimestamp IS NULL " +
+            "   OR r.timestamp < datetime($cursorTimestamp) " +
+            "   OR (r.timestamp = datetime($cursorTimestamp) AND elementId(r) < $cursorId) ";
+    private static final String KEYSET_RETURN =
+            "       toString(r.timestamp) AS cursorTimestamp, " +
+            "       elementId(r) AS ratingId ";
+    private static final String KEYSET_ORDER =
+            "ORDER BY r.timestamp DESC, elementId(r) DESC " +
+            "LIMIT $limit";
+
+    // Per-movie aggregates kept on the Movie node: ratingCount, ratingSum and
+    // ratingHistogram (five counters, index = stars - 1).
+    // Movies rated before the aggregates existed are seeded from their RATED relationships
+    // on first write (and by the reconciliation job), so increments always start from a true base.
+    // Ratings of deleted users ((:DeletedUser), see retractDeletedUserRatings) never count.
+    private static final String SEED_AGGREGATES =
+            "CALL { WITH m " +
+            "  WITH m WHERE m.ratingCount IS NULL " +
+            "  OPTIONAL MATCH (:User)-[x:RATED]->(m) " +
+            "  WITH m, collect(x.score) AS scores " +
+            "  SET m.ratingCount = size(scores), " +
+            "      m.ratingSum = reduce(total = 0, s IN scores | total + s), " +
+            "      m.ratingHistogram = [star IN range(1, 5) | size([s IN scores WHERE s = star])] } ";
+    // Writing m._lock takes m's write lock before anything of m or its ratings is read, so writes to
+    // the same movie run one after the other: the seed and the previous score of an update or delete
+    // always see committed data. The property is removed right away; the lock stays until commit.
+    private static final String LOCK_MOVIE = "SET m._lock = true REMOVE m._lock WITH * ";
+    // Reads the aggregates; a movie not seeded yet falls back to a scan of its ratings
+    private static final String AGGREGATE_RETURN =
+            "WITH m, CASE WHEN m.ratingCount IS NULL THEN [(:User)-[x:RATED]->(m) | x.score] END AS scores " +
+            "RETURN m.tmdbId AS tmdbId, " +
+            "       coalesce(m.ratingCount, size(scores)) AS ratingCount, " +
+            "       coalesce(m.ratingSum, reduce(total = 0, s IN scores | total + s)) AS ratingSum, " +
+            "       coalesce(m.ratingHistogram, [star IN range(1, 5) | size([s IN scores WHERE s = star])]) AS ratingHistogram ";
+
     private final Neo4jClient neo4jClient;
 
     public RatingRepository(Neo4jClient neo4jClient) {
@@ -32,6 +73,12 @@ public class RatingRepository {
      * 1. Find the User and Movie nodes.
      * 2. MERGE ensures we don't create duplicate RATED relationships.
      * 3. SET updates the score and timestamp.
+     * 4. u.ratingsVersion is bumped; the rating history ETag is built from it.
+     * 5. The movie's aggregates move by the difference: a new rating adds one to the count,
+     *    an updated one only shifts the sum and histogram from the previous score to the new one.
+     *
+     * m is locked before the seed and before the previous score is read (LOCK_MOVIE), so concurrent
+     * raters of the same movie, or two updates of the same rating, cannot lose each other's updates.
      * 
      * Returns the tmdbId if successful, or empty if the Movie doesn't exist in DB.
      */
@@ -39,8 +86,17 @@ public class RatingRepository {
         return neo4jClient.query(
                 "MATCH (u:User {keycloakId: $userId}) " +
                 "MATCH (m:Movie {tmdbId: $tmdbId}) " +
+                LOCK_MOVIE +
+                SEED_AGGREGATES +
                 "MERGE (u)-[r:RATED]->(m) " +
-                "SET r.score = $score, r.comment = $comment, r.timestamp = datetime() " +
+                "WITH u, m, r, r.score AS previous " +
+                "SET r.score = $score, r.comment = $comment, r.timestamp = datetime(), " +
+                "    u.ratingsVersion = coalesce(u.ratingsVersion, 0) + 1, " +
+                "    m.ratingCount = m.ratingCount + CASE WHEN previous IS NULL THEN 1 ELSE 0 END, " +
+                "    m.ratingSum = m.ratingSum + $score - coalesce(previous, 0), " +
+                "    m.ratingHistogram = [i IN range(0, 4) | m.ratingHistogram[i] " +
+                "        + CASE WHEN i = $score - 1 THEN 1 ELSE 0 END " +
+                "        - CASE WHEN i = previous - 1 THEN 1 ELSE 0 END] " +
                 "RETURN m.tmdbId")
             .bind(userId).to("userId")
             .bind(tmdbId).to("tmdbId")
@@ -55,11 +111,26 @@ public class RatingRepository {
     /**
      * Deletes a rating and returns the count of deleted relationships.
      * Returns 0 if no rating existed, 1 if successfully deleted.
+     * The deleted score is taken back out of the movie's aggregates, and u.ratingsVersion is bumped (see rateMovie).
+     * u.ratingsDeletedAt tells recommendation-service's rating matrix to drop the rating on its next delta.
+     * The rating is matched only once m is locked, so a concurrent delete of it finds nothing.
      */
     public long deleteRating(String userId, Integer tmdbId) {
         return neo4jClient.query(
-                "MATCH (u:User {keycloakId: $userId})-[r:RATED]->(m:Movie {tmdbId: $tmdbId}) " +
-                "DELETE r RETURN count(r) AS deleted")
+                "MATCH (u:User {keycloakId: $userId}) " +
+                "MATCH (m:Movie {tmdbId: $tmdbId}) " +
+                LOCK_MOVIE +
+                SEED_AGGREGATES +
+                "MATCH (u)-[r:RATED]->(m) " +
+                "WITH u, m, r, r.score AS previous " +
+                "DELETE r " +
+                "SET u.ratingsVersion = coalesce(u.ratingsVersion, 0) + 1, " +
+                "    u.ratingsDeletedAt = datetime(), " +
+                "    m.ratingCount = m.ratingCount - 1, " +
+                "    m.ratingSum = m.ratingSum - previous, " +
+                "    m.ratingHistogram = [i IN range(0, 4) | m.ratingHistogram[i] " +
+                "        - CASE WHEN i = previous - 1 THEN 1 ELSE 0 END] " +
+                "RETURN count(*) AS deleted")
             .bind(userId).to("userId")
             .bind(tmdbId).to("tmdbId")
             .fetchAs(Long.class)
@@ -70,25 +141,73 @@ public class RatingRepository {
     // --- READ ---
 
     /**
-     * Fetches all ratings for a specific user.
+     * Fetches one page of a user's ratings, most recent first.
      * Returns a List of Maps to keep this service decoupled from the Movie Entity.
+     *
+     * Keyset pagination: rows strictly after the cursor (timestamp, ratingId) in
+     * (timestamp DESC, ratingId DESC) order; a null cursor starts from the newest.
+     * Each row also carries cursorTimestamp and ratingId to build the next cursor.
      */
-    public List<Map<String, Object>> findUserRatings(String userId) {
+    public List<Map<String, Object>> findUserRatings(String userId, String cursorTimestamp, String cursorId,
+            int limit) {
         Collection<Map<String, Object>> results = neo4jClient.query(
                 "MATCH (u:User {keycloakId: $userId})-[r:RATED]->(m:Movie) " +
+                KEYSET_WHERE +
                 "RETURN m.tmdbId AS tmdbId, " +
                 "       m.title AS title, " +
                 "       m.posterPath AS posterPath, " +
                 "       r.score AS score, " +
                 "       r.comment AS comment, " +
-                "       r.timestamp AS ratedDate " +
-                "ORDER BY r.timestamp DESC")
+                "       r.timestamp AS ratedDate, " +
+                KEYSET_RETURN +
+                KEYSET_ORDER)
             .bind(userId).to("userId")
+            .bind(cursorTimestamp).to("cursorTimestamp")
+            .bind(cursorId).to("cursorId")
+            .bind(limit).to("limit")
             .fetch()
             .all();
         return List.copyOf(results);
     }
 
+    /**
+     * Version counter of a user's ratings, bumped by every rate and delete (0 if never rated).
+     */
+    public long findRatingsVersion(String userId) {
+        return neo4jClient.query(
+                "MATCH (u:User {keycloakId: $userId}) RETURN coalesce(u.ratingsVersion, 0)")
+            .bind(userId).to("userId")
+            .fetchAs(Long.class)
+            .one()
+            .orElse(0L);
+    }
+
+    /**
+     * Streams every rating of a user, most recent first, one row at a time.
+     * Rows are pulled from the driver as the consumer handles them (the driver fetches in batches),
+     * so memory stays constant however long the history is. Returns the number of rows streamed.
+     */
+    public long streamUserRatings(String userId, Consumer<Map<String, Object>> consumer) {
+        return neo4jClient.delegateTo(runner -> {
+            Result result = runner.run(
+                    "MATCH (u:User {keycloakId: $userId})-[r:RATED]->(m:Movie) " +
+                    "RETURN m.tmdbId AS tmdbId, " +
+                    "       m.title AS title, " +
+                    "       m.posterPath AS posterPath, " +
+                    "       r.score AS score, " +
+                    "       r.comment AS comment, " +
+                    "       r.timestamp AS ratedDate " +
+                    "ORDER BY r.timestamp DESC",
+                    Map.of("userId", userId));
+            long count = 0;
+            while (result.hasNext()) {
+                consumer.accept(result.next().asMap());
+                count++;
+            }
+            return Optional.of(count);
+        }).run().orElse(0L);
+    }
+
     /**
      * Checks if a user has already rated a specific movie.
      * Returns the score if found, empty otherwise.
@@ -104,34 +223,139 @@ public class RatingRepository {
     }
 
     /**
-     * Fetches all ratings/reviews for a specific movie from all users.
-     * Returns username, score, comment, and timestamp.
+     * Fetches one page of ratings/reviews for a specific movie from all users, most recent first.
+     * Returns username, score, comment, and timestamp, plus the keyset columns (see findUserRatings).
      * Public query - no userId required.
      */
-    public List<Map<String, Object>> findAllRatingsForMovie(Integer tmdbId) {
+    public List<Map<String, Object>> findRatingsForMovie(Integer tmdbId, String cursorTimestamp, String cursorId,
+            int limit) {
         Collection<Map<String, Object>> results = neo4jClient.query(
                 "MATCH (u:User)-[r:RATED]->(m:Movie {tmdbId: $tmdbId}) " +
+                KEYSET_WHERE +
                 "RETURN u.username AS username, " +
                 "       r.score AS score, " +
                 "       r.comment AS comment, " +
-                "       r.timestamp AS ratedDate " +
-                "ORDER BY r.timestamp DESC")
+                "       r.timestamp AS ratedDate, " +
+                KEYSET_RETURN +
+                KEYSET_ORDER)
             .bind(tmdbId).to("tmdbId")
+            .bind(cursorTimestamp).to("cursorTimestamp")
+            .bind(cursorId).to("cursorId")
+            .bind(limit).to("limit")
             .fetch()
             .all();
         return List.copyOf(results);
     }
 
     /**
-     * Calculates the average rating for a movie across all users.
-     * This is a public query - no userId required.
+     * Reads the rating aggregates of a movie (ratingCount, ratingSum, ratingHistogram).
+     * Single-node lookup: no RATED relationship is scanned once the movie is seeded.
+     * Empty if the movie is not in the graph. Public query - no userId required.
      */
-    public Optional<Double> findAverageRatingByTmdbId(Integer tmdbId) {
+    public Optional<Map<String, Object>> findRatingAggregate(Integer tmdbId) {
         return neo4jClient.query(
-                "MATCH (:User)-[r:RATED]->(m:Movie {tmdbId: $tmdbId}) " +
-                "RETURN avg(r.score)")
+                "MATCH (m:Movie {tmdbId: $tmdbId}) " +
+                AGGREGATE_RETURN)
             .bind(tmdbId).to("tmdbId")
-            .fetchAs(Double.class)
+            .fetch()
             .one();
     }
-}
\ No newline at end of file
+
+    /**
+     * Batch variant of findRatingAggregate: one UNWIND query for a whole grid of movie cards.
+     * Movies not in the graph are absent from the result; order follows tmdbIds.
+     */
+    public List<Map<String, Object>> findRatingAggregates(List<Integer> tmdbIds) {
+        Collection<Map<String, Object>> results = neo4jClient.query(
+                "UNWIND $tmdbIds AS tmdbId " +
+                "MATCH (m:Movie {tmdbId: tmdbId}) " +
+                AGGREGATE_RETURN)
+            .bind(tmdbIds).to("tmdbIds")
+            .fetch()
+            .all();
+        return List.copyOf(results);
+    }
+
+    // --- RECONCILIATION ---
+
+    /**
+     * Recomputes the aggregates of the next batch of movies (by tmdbId, after afterTmdbId)
+     * from their RATED relationships, correcting any drift.
+     *
+     * The first SET takes m's write lock before its ratings are read, so a concurrent rateMovie
+     * either commits before the recount (and is counted) or waits and applies its increment on top.
+     *
+     * Returns lastTmdbId (null when there are no more movies), movies and corrected counts.
+     */
+    public Map<String, Object> reconcileAggregates(int afterTmdbId, int batchSize) {
+        return neo4jClient.query(
+                "MATCH (m:Movie) WHERE m.tmdbId > $afterTmdbId " +
+                "WITH m ORDER BY m.tmdbId LIMIT $batchSize " +
+                "SET m.ratingsReconciledAt = datetime() " +
+                "WITH m " +
+                "OPTIONAL MATCH (:User)-[x:RATED]->(m) " +
+                "WITH m, collect(x.score) AS scores " +
+                "WITH m, size(scores) AS ratingCount, " +
+                "     reduce(total = 0, s IN scores | total + s) AS ratingSum, " +
+                "     [star IN range(1, 5) | size([s IN scores WHERE s = star])] AS ratingHistogram " +
+                "WITH m, ratingCount, ratingSum, ratingHistogram, " +
+                "     m.ratingCount IS NULL OR m.ratingCount <> ratingCount OR m.ratingSum <> ratingSum " +
+                "         OR m.ratingHistogram <> ratingHistogram AS drifted " +
+                "SET m.ratingCount = ratingCount, m.ratingSum = ratingSum, m.ratingHistogram = ratingHistogram " +
+                "RETURN max(m.tmdbId) AS lastTmdbId, count(m) AS movies, " +
+                "       sum(CASE WHEN drifted THEN 1 ELSE 0 END) AS corrected")
+            .bind(afterTmdbId).to("afterTmdbId")
+            .bind(batchSize).to("batchSize")
+            .fetch()
+            .one()
+            .orElse(Map.of());
+    }
+
+    // --- DELETED USERS ---
+
+    /**
+     * Takes up to batchSize ratings of deleted users back out of their movies' aggregates and
+     * deletes them. user-service turns a deleted account into a (:DeletedUser) that keeps only its
+     * RATED relationships, so this service alone maintains the aggregate layout.
+     * A movie not seeded yet only loses the relationship (its aggregate properties stay null).
+     * One user per call, locked before its ratings are matched, so two instances of this
+     * service never retract the same rating twice.
+     * Returns the number of ratings removed; 0 once none are left.
+     */
+    public long retractDeletedUserRatings(int batchSize) {
+        return neo4jClient.query(
+                "MATCH (d:DeletedUser) WHERE EXISTS { (d)-[:RATED]->() } " +
+                "WITH d LIMIT 1 " +
+                "SET d._lock = true REMOVE d._lock " +
+                "WITH d " +
+                "MATCH (d)-[r:RATED]->(m:Movie) " +
+                "WITH r, m LIMIT $batchSize " +
+                LOCK_MOVIE +
+                "WITH r, m, r.score AS previous " +
+                "DELETE r " +
+                "SET m.ratingCount = m.ratingCount - 1, " +
+                "    m.ratingSum = m.ratingSum - previous, " +
+                "    m.ratingHistogram = CASE WHEN m.ratingHistogram IS NULL THEN null " +
+                "        ELSE [i IN range(0, 4) | m.ratingHistogram[i] - CASE WHEN i = previous - 1 THEN 1 ELSE 0 END] END " +
+                "RETURN count(*) AS removed")
+            .bind(batchSize).to("batchSize")
+            .fetchAs(Long.class)
+            .one()
+            .orElse(0L);
+    }
+
+    /**
+     * Deletes (:DeletedUser) tombstones older than cutoff whose ratings are gone.
+     * recommendation-service reads them to evict the user from its rating matrix.
+     */
+    public long pruneDeletedUsers(ZonedDateTime cutoff) {
+        return neo4jClient.query(
+                "MATCH (d:DeletedUser) WHERE d.deletedAt < $cutoff AND NOT (d)-[:RATED]->() " +
+                "DETACH DELETE d " +
+                "RETURN count(*) AS pruned")
+            .bind(cutoff).to("cutoff")
+            .fetchAs(Long.class)
+            .one()
+            .orElse(0L);
+    }
+}
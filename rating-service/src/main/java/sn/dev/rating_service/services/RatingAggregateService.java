@@ -0,0 +1,17 @@
+package sn.dev.rating_service.services;
+
+public interface RatingAggregateService {
+
+    /**
+     * Rebuilds every movie's rating aggregates (count, sum, star histogram) from its
+     * RATED relationships, in batches. Runs on a schedule to correct any drift.
+     * Returns the number of movies whose aggregates were corrected.
+     */
+    int reconcile();
+
+    /**
+     * Takes the ratings of deleted users (:DeletedUser, left by user-service) out of the
+     * aggregates and deletes them, then prunes old tombstones. Returns the number of ratings removed.
+     */
+    long retractDeletedUsers();
+}
@@ -1,11 +1,15 @@
 package sn.dev.rating_service.services;
 
+import sn.dev.rating_service.web.dto.CursorPage;
+import sn.dev.rating_service.web.dto.RatingAggregateDTO;
 import sn.dev.rating_service.web.dto.RatingRequestDTO;
 import sn.dev.rating_service.web.dto.UserRatingDTO;
 import sn.dev.rating_service.web.dto.MovieReviewDTO;
 
 import java.util.List;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 public interface RatingService {
 
     /**
@@ -17,9 +21,22 @@ public interface RatingService {
     void deleteRating(Integer tmdbId);
 
     /**
-     * Fetches all ratings for the user, sorted by most recent.
+     * Fetches one page of the user's ratings, sorted by most recent.
+     * cursor is the nextCursor of the previous page, or null for the first page.
+     */
+    CursorPage<UserRatingDTO> getUserRatings(String cursor, int size);
+
+    /**
+     * ETag of the user's rating history, from a version counter bumped on every rate/delete.
+     * One property read, so an unchanged history is answered with 304 without loading the page.
+     */
+    String getUserRatingsETag();
+
+    /**
+     * Exports all of the user's ratings as NDJSON (one UserRatingDTO per line), newest first.
+     * The user is resolved now; rows are written when the returned body runs.
      */
-    List<UserRatingDTO> getUserRatings();
+    StreamingResponseBody exportUserRatings();
 
     /**
      * Fetches a specific rating for a movie.
@@ -30,8 +47,20 @@ public interface RatingService {
     Double getAverageRating(Integer tmdbId);
 
     /**
-     * Fetches all ratings/reviews for a movie from all users.
+     * Average, count and star histogram of a movie, read from the aggregates on its node.
+     * Throws NotFoundException if the movie is not in the graph.
+     */
+    RatingAggregateDTO getRatingDistribution(Integer tmdbId);
+
+    /**
+     * Average, count and star histogram of several movies in one query.
+     * Unknown tmdbIds are left out. Throws BadRequestException above the batch limit.
+     */
+    List<RatingAggregateDTO> getRatingSummaries(List<Integer> tmdbIds);
+
+    /**
+     * Fetches one page of ratings/reviews for a movie from all users, most recent first.
      * Public endpoint - no authentication required.
      */
-    List<MovieReviewDTO> getMovieReviews(Integer tmdbId);
+    CursorPage<MovieReviewDTO> getMovieReviews(Integer tmdbId, String cursor, int size);
 }
\ No newline at end of file
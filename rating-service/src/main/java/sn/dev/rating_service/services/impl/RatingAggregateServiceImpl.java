@@ -0,0 +1,115 @@
+package sn.dev.rating_service.services.impl;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import sn.dev.rating_service.data.repositories.RatingRepository;
+import sn.dev.rating_service.services.RatingAggregateService;
+
+/**
+ * Safety net for the per-movie rating aggregates maintained by rateMovie/deleteRating.
+ *
+ * Walks all movies in tmdbId order, batch-size at a time, each batch in its own short
+ * transaction, and rewrites their aggregates from the RATED relationships. The first run
+ * shortly after startup also seeds movies rated before the aggregates existed.
+ *
+ * Corrections are counted in ratings.aggregates.corrected; a steady non-zero rate means
+ * some write path bypasses the incremental update.
+ *
+ * Also retracts the ratings of deleted users every deleted-users.interval. Their (:DeletedUser)
+ * tombstones are kept for tombstone-retention so recommendation-service can evict them too.
+ */
+@Service
+public class RatingAggregateServiceImpl implements RatingAggregateService {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingAggregateServiceImpl.class);
+
+    private final RatingRepository ratingRepository;
+    private final int batchSize;
+    private final Duration tombstoneRetention;
+
+    private final Counter correctedCounter;
+    private final Counter retractedCounter;
+    private final AtomicBoolean reconciling = new AtomicBoolean(false);
+    private final AtomicBoolean retracting = new AtomicBoolean(false);
+
+    public RatingAggregateServiceImpl(RatingRepository ratingRepository,
+            MeterRegistry meterRegistry,
+            @Value("${ratings.aggregates.batch-size:500}") int batchSize,
+            @Value("${ratings.deleted-users.tombstone-retention:7d}") Duration tombstoneRetention) {
+        this.ratingRepository = ratingRepository;
+        this.batchSize = batchSize;
+        this.tombstoneRetention = tombstoneRetention;
+        this.correctedCounter = meterRegistry.counter("ratings.aggregates.corrected");
+        this.retractedCounter = meterRegistry.counter("ratings.deleted-users.retracted");
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${ratings.aggregates.reconcile-interval:24h}",
+            initialDelayString = "${ratings.aggregates.initial-delay:1m}")
+    public int reconcile() {
+        if (!reconciling.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            int after = Integer.MIN_VALUE;
+            long movies = 0;
+            int corrected = 0;
+            while (true) {
+                Map<String, Object> batch = ratingRepository.reconcileAggregates(after, batchSize);
+                if (!(batch.get("lastTmdbId") instanceof Number last)) {
+                    break;
+                }
+                after = last.intValue();
+                movies += ((Number) batch.get("movies")).longValue();
+                int fixed = ((Number) batch.get("corrected")).intValue();
+                corrected += fixed;
+                correctedCounter.increment(fixed);
+            }
+            log.info("Reconciled rating aggregates of {} movies, {} corrected", movies, corrected);
+            return corrected;
+        } catch (RuntimeException e) {
+            log.error("Rating aggregate reconciliation failed: {}", e.getMessage(), e);
+            return 0;
+        } finally {
+            reconciling.set(false);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${ratings.deleted-users.interval:1m}",
+            initialDelayString = "${ratings.aggregates.initial-delay:1m}")
+    public long retractDeletedUsers() {
+        if (!retracting.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            long retracted = 0;
+            long batch;
+            while ((batch = ratingRepository.retractDeletedUserRatings(batchSize)) > 0) {
+                retracted += batch;
+                retractedCounter.increment(batch);
+            }
+            long pruned = ratingRepository.pruneDeletedUsers(ZonedDateTime.now().minus(tombstoneRetention));
+            if (retracted > 0 || pruned > 0) {
+                log.info("Retracted {} ratings of deleted users, pruned {} tombstones", retracted, pruned);
+            }
+            return retracted;
+        } catch (RuntimeException e) {
+            log.error("Deleted user rating cleanup failed: {}", e.getMessage(), e);
+            return 0;
+        } finally {
+            retracting.set(false);
+        }
+    }
+}
@@ -6,23 +6,40 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import tools.jackson.databind.ObjectMapper;
 import sn.dev.rating_service.data.repositories.RatingRepository;
 import sn.dev.rating_service.exceptions.NotFoundException;
 import sn.dev.rating_service.exceptions.BadRequestException;
 import sn.dev.rating_service.services.RatingService;
+import sn.dev.rating_service.web.dto.CursorPage;
+import sn.dev.rating_service.web.dto.RatingAggregateDTO;
+import sn.dev.rating_service.web.dto.RatingCursor;
 import sn.dev.rating_service.web.dto.RatingRequestDTO;
 import sn.dev.rating_service.web.dto.UserRatingDTO;
 import sn.dev.rating_service.web.dto.MovieReviewDTO;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class RatingServiceImpl implements RatingService {
 
+    static final int MAX_SUMMARY_IDS = 300;
+
     private final RatingRepository ratingRepository;
+    private final ObjectMapper objectMapper;
 
     @Override
     @Transactional
@@ -49,13 +66,49 @@ public class RatingServiceImpl implements RatingService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserRatingDTO> getUserRatings() {
+    public CursorPage<UserRatingDTO> getUserRatings(String cursor, int size) {
         String userId = getAuthenticatedUserId();
-        List<Map<String, Object>> results = ratingRepository.findUserRatings(userId);
+        RatingCursor after = RatingCursor.decode(cursor);
+        // Fetch one extra row to know whether another page exists
+        List<Map<String, Object>> results = ratingRepository.findUserRatings(userId,
+                after != null ? after.timestamp() : null, after != null ? after.ratingId() : null, size + 1);
 
-        return results.stream()
-                .map(this::mapToUserRatingDTO)
-                .toList();
+        return toPage(results, size, this::mapToUserRatingDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getUserRatingsETag() {
+        String userId = getAuthenticatedUserId();
+        long version = ratingRepository.findRatingsVersion(userId);
+        // The user hash keeps two accounts sharing a browser cache from matching each other's tags
+        return "\"r-" + Integer.toHexString(userId.hashCode()) + "-" + version + "\"";
+    }
+
+    @Override
+    public StreamingResponseBody exportUserRatings() {
+        // Resolve the user on the request thread; the body runs later on an async thread
+        String userId = getAuthenticatedUserId();
+        return outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, 16 * 1024);
+            try {
+                ratingRepository.streamUserRatings(userId, row -> writeLine(out, mapToUserRatingDTO(row)));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+    }
+
+    // Helper to write one NDJSON line
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            // Client went away: stop pulling rows from Neo4j
+            throw new UncheckedIOException(e);
+        }
     }
 
     @Override
@@ -68,18 +121,57 @@ public class RatingServiceImpl implements RatingService {
     @Override
     @Transactional(readOnly = true)
     public Double getAverageRating(Integer tmdbId) {
-        return ratingRepository.findAverageRatingByTmdbId(tmdbId).orElse(null);
+        return ratingRepository.findRatingAggregate(tmdbId)
+                .map(this::mapToRatingAggregateDTO)
+                .filter(aggregate -> aggregate.getRatingCount() > 0)
+                .map(RatingAggregateDTO::getAverageRating)
+                .orElse(null);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<MovieReviewDTO> getMovieReviews(Integer tmdbId) {
-        List<Map<String, Object>> results = ratingRepository.findAllRatingsForMovie(tmdbId);
-        return results.stream()
-                .map(this::mapToMovieReviewDTO)
+    public RatingAggregateDTO getRatingDistribution(Integer tmdbId) {
+        return ratingRepository.findRatingAggregate(tmdbId)
+                .map(this::mapToRatingAggregateDTO)
+                .orElseThrow(() -> new NotFoundException("Movie with ID " + tmdbId + " not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RatingAggregateDTO> getRatingSummaries(List<Integer> tmdbIds) {
+        List<Integer> ids = tmdbIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.size() > MAX_SUMMARY_IDS) {
+            throw new BadRequestException("At most " + MAX_SUMMARY_IDS + " tmdbIds can be requested at once");
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return ratingRepository.findRatingAggregates(ids).stream()
+                .map(this::mapToRatingAggregateDTO)
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<MovieReviewDTO> getMovieReviews(Integer tmdbId, String cursor, int size) {
+        RatingCursor after = RatingCursor.decode(cursor);
+        List<Map<String, Object>> results = ratingRepository.findRatingsForMovie(tmdbId,
+                after != null ? after.timestamp() : null, after != null ? after.ratingId() : null, size + 1);
+
+        return toPage(results, size, this::mapToMovieReviewDTO);
+    }
+
+    // Helper to cut the extra look-ahead row and turn the last returned row into the next cursor
+    private <T> CursorPage<T> toPage(List<Map<String, Object>> rows, int size, Function<Map<String, Object>, T> mapper) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows.stream().map(mapper).toList(), null);
+        }
+        List<Map<String, Object>> page = rows.subList(0, size);
+        Map<String, Object> last = page.get(size - 1);
+        String nextCursor = new RatingCursor((String) last.get("cursorTimestamp"), (String) last.get("ratingId")).encode();
+        return new CursorPage<>(page.stream().map(mapper).toList(), nextCursor);
+    }
+
     // Helper to convert raw Map to MovieReviewDTO
     private MovieReviewDTO mapToMovieReviewDTO(Map<String, Object> map) {
         return MovieReviewDTO.builder()
@@ -90,6 +182,23 @@ public class RatingServiceImpl implements RatingService {
                 .build();
     }
 
+    // Helper to turn the count/sum/histogram row into average + distribution
+    private RatingAggregateDTO mapToRatingAggregateDTO(Map<String, Object> map) {
+        long count = ((Number) map.get("ratingCount")).longValue();
+        long sum = ((Number) map.get("ratingSum")).longValue();
+        List<?> histogram = (List<?>) map.get("ratingHistogram");
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        for (int stars = 1; stars <= 5; stars++) {
+            distribution.put(stars, ((Number) histogram.get(stars - 1)).longValue());
+        }
+        return RatingAggregateDTO.builder()
+                .tmdbId(toInteger(map.get("tmdbId")))
+                .averageRating(count > 0 ? (double) sum / count : 0.0)
+                .ratingCount(count)
+                .distribution(distribution)
+                .build();
+    }
+
     // Helper to convert raw Map from Neo4j to DTO
     private UserRatingDTO mapToUserRatingDTO(Map<String, Object> map) {
         return UserRatingDTO.builder()
@@ -118,6 +227,9 @@ public class RatingServiceImpl implements RatingService {
         if (date instanceof OffsetDateTime) {
             return ((OffsetDateTime) date).toLocalDateTime();
         }
+        if (date instanceof ZonedDateTime zoned) {
+            return zoned.toLocalDateTime();
+        }
         return null;
     }
 
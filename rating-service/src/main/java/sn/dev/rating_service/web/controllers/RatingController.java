@@ -1,8 +1,11 @@
 package sn.dev.rating_service.web.controllers;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import sn.dev.rating_service.web.dto.MovieReviewDTO;
+import sn.dev.rating_service.web.dto.RatingAggregateDTO;
 import sn.dev.rating_service.web.dto.RatingRequestDTO;
 import sn.dev.rating_service.web.dto.UserRatingDTO;
 
@@ -20,9 +23,16 @@ public interface RatingController {
     @DeleteMapping("/{tmdbId}")
     ResponseEntity<Void> deleteRating(@PathVariable Integer tmdbId);
 
-    // Get all ratings for the current user
+    // Get the current user's ratings, newest first, one page at a time.
+    // The next page's cursor is returned in the X-Next-Cursor header (absent on the last page).
+    // Carries an ETag; a matching If-None-Match gets 304 without the page being loaded.
     @GetMapping
-    ResponseEntity<List<UserRatingDTO>> getUserRatings();
+    ResponseEntity<List<UserRatingDTO>> getUserRatings(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size, WebRequest webRequest);
+
+    // Export all of the current user's ratings as NDJSON (application/x-ndjson), streamed row by row
+    @GetMapping("/export")
+    ResponseEntity<StreamingResponseBody> exportUserRatings();
 
     // Get a specific rating for a specific movie (e.g., to display stars on a movie
     // card)
@@ -33,7 +43,18 @@ public interface RatingController {
     @GetMapping("/movie/{tmdbId}/average")
     ResponseEntity<Double> getAverageRating(@PathVariable Integer tmdbId);
 
-    // Get all reviews/ratings for a specific movie from all users (public)
+    // Get average, count and star histogram (1-5) for a specific movie (public)
+    @GetMapping("/movie/{tmdbId}/distribution")
+    ResponseEntity<RatingAggregateDTO> getRatingDistribution(@PathVariable Integer tmdbId);
+
+    // Get average, count and star histogram for many movies at once (public), e.g. a grid of movie cards.
+    // tmdbIds is comma-separated, at most 300; movies not in the graph are left out.
+    @GetMapping("/movies/summary")
+    ResponseEntity<List<RatingAggregateDTO>> getRatingSummaries(@RequestParam List<Integer> tmdbIds);
+
+    // Get reviews/ratings for a specific movie from all users (public), paginated like getUserRatings
     @GetMapping("/movie/{tmdbId}/reviews")
-    ResponseEntity<List<MovieReviewDTO>> getMovieReviews(@PathVariable Integer tmdbId);
+    ResponseEntity<List<MovieReviewDTO>> getMovieReviews(@PathVariable Integer tmdbId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size);
 }
\ No newline at end of file
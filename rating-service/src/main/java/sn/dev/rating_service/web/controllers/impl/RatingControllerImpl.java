@@ -1,11 +1,17 @@
 package sn.dev.rating_service.web.controllers.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import sn.dev.rating_service.services.RatingService;
 import sn.dev.rating_service.web.controllers.RatingController;
+import sn.dev.rating_service.web.dto.CursorPage;
 import sn.dev.rating_service.web.dto.MovieReviewDTO;
+import sn.dev.rating_service.web.dto.RatingAggregateDTO;
 import sn.dev.rating_service.web.dto.RatingRequestDTO;
 import sn.dev.rating_service.web.dto.UserRatingDTO;
 
@@ -15,6 +21,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class RatingControllerImpl implements RatingController {
 
+    static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final RatingService ratingService;
 
     @Override
@@ -30,9 +40,21 @@ public class RatingControllerImpl implements RatingController {
     }
 
     @Override
-    public ResponseEntity<List<UserRatingDTO>> getUserRatings() {
-        List<UserRatingDTO> ratings = ratingService.getUserRatings();
-        return ResponseEntity.ok(ratings);
+    public ResponseEntity<List<UserRatingDTO>> getUserRatings(String cursor, int size, WebRequest webRequest) {
+        // checkNotModified sets the ETag header, and the 304 status when it matches
+        if (webRequest.checkNotModified(ratingService.getUserRatingsETag())) {
+            return null; // response already complete
+        }
+        CursorPage<UserRatingDTO> ratings = ratingService.getUserRatings(cursor, safeSize(size));
+        return toResponse(ratings);
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportUserRatings() {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"ratings.ndjson\"")
+                .body(ratingService.exportUserRatings());
     }
 
     @Override
@@ -55,8 +77,30 @@ public class RatingControllerImpl implements RatingController {
     }
 
     @Override
-    public ResponseEntity<List<MovieReviewDTO>> getMovieReviews(Integer tmdbId) {
-        List<MovieReviewDTO> reviews = ratingService.getMovieReviews(tmdbId);
-        return ResponseEntity.ok(reviews);
+    public ResponseEntity<RatingAggregateDTO> getRatingDistribution(Integer tmdbId) {
+        return ResponseEntity.ok(ratingService.getRatingDistribution(tmdbId));
+    }
+
+    @Override
+    public ResponseEntity<List<RatingAggregateDTO>> getRatingSummaries(List<Integer> tmdbIds) {
+        return ResponseEntity.ok(ratingService.getRatingSummaries(tmdbIds));
+    }
+
+    @Override
+    public ResponseEntity<List<MovieReviewDTO>> getMovieReviews(Integer tmdbId, String cursor, int size) {
+        CursorPage<MovieReviewDTO> reviews = ratingService.getMovieReviews(tmdbId, cursor, safeSize(size));
+        return toResponse(reviews);
+    }
+
+    private static int safeSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    private static <T> ResponseEntity<List<T>> toResponse(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(HEADER_NEXT_CURSOR, page.nextCursor());
+        }
+        return response.body(page.items());
     }
 }
\ No newline at end of file
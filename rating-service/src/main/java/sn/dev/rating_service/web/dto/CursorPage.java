@@ -0,0 +1,9 @@
+package sn.dev.rating_service.web.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list; nextCursor is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
@@ -0,0 +1,23 @@
+package sn.dev.rating_service.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Rating summary of a movie across all users: average, count and
+ * star histogram (stars 1-5 -> number of ratings with that score).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingAggregateDTO {
+    private Integer tmdbId;
+    private Double averageRating; // 0.0 when the movie has no ratings
+    private Long ratingCount;
+    private Map<Integer, Long> distribution;
+}
@@ -0,0 +1,53 @@
+package sn.dev.rating_service.web.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+import sn.dev.rating_service.exceptions.BadRequestException;
+
+/**
+ * Keyset position in a rating list ordered by (timestamp DESC, ratingId DESC).
+ *
+ * Sent to clients as an opaque URL-safe token. The pair is unique per rating, so pages
+ * neither skip nor repeat rows when ratings are added between requests.
+ */
+public record RatingCursor(String timestamp, String ratingId) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = timestamp + SEPARATOR + ratingId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns null for a missing cursor (first page).
+     *
+     * @throws BadRequestException unless the token holds an ISO date-time with an offset (as
+     *         Neo4j prints it, optionally followed by a [zone id]) and a non-blank rating id
+     */
+    public static RatingCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            String timestamp = raw.substring(0, separator);
+            String ratingId = raw.substring(separator + 1);
+            OffsetDateTime.parse(timestamp, DateTimeFormatter.ISO_DATE_TIME);
+            if (ratingId.isBlank()) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new RatingCursor(timestamp, ratingId);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
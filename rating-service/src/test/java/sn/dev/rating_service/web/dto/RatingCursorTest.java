@@ -0,0 +1,48 @@
+package sn.dev.rating_service.web.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import sn.dev.rating_service.exceptions.BadRequestException;
+
+class RatingCursorTest {
+
+    @Test
+    void roundTripsNeo4jTimestamps() {
+        RatingCursor utc = new RatingCursor("2026-03-01T12:30:45.123Z", "4:abc:17");
+        RatingCursor zoned = new RatingCursor("2026-03-01T13:30:45+01:00[Europe/Paris]", "4:abc:18");
+
+        assertThat(RatingCursor.decode(utc.encode())).isEqualTo(utc);
+        assertThat(RatingCursor.decode(zoned.encode())).isEqualTo(zoned);
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertThat(RatingCursor.decode(null)).isNull();
+        assertThat(RatingCursor.decode(" ")).isNull();
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() {
+        assertThatThrownBy(() -> RatingCursor.decode("not base64!")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> RatingCursor.decode(token("no separator")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> RatingCursor.decode(token("yesterday|4:abc:17")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> RatingCursor.decode(token("2026-03-01T12:30:45|4:abc:17")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> RatingCursor.decode(token("2026-03-01T12:30:45Z|")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> RatingCursor.decode(token("2026-03-01T12:30:45Z| ")))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
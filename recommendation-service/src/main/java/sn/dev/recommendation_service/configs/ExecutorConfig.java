@@ -0,0 +1,22 @@
+package sn.dev.recommendation_service.configs;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Runs recommendation strategies concurrently. They mostly wait on Neo4j or movie-service,
+     * so one virtual thread per strategy call is cheaper than sizing a pool. The in-memory
+     * strategies borrow their buffers from a ScratchPool rather than a ThreadLocal, which a
+     * fresh thread per call would never reuse.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService recommendationStrategyExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("recommendation-strategy-", 0).factory());
+    }
+}
@@ -0,0 +1,41 @@
+package sn.dev.recommendation_service.configs;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import sn.dev.schema.SchemaMigration;
+import sn.dev.schema.SchemaMigrations;
+
+/**
+ * Neo4j schema owned by recommendation-service: SHARED_RECOMMENDATION relationships (the inbox
+ * query filters by toUserId), the precomputed-recommendation bookkeeping on User/RecommendationState,
+ * and the User.ratingsDeletedAt and DeletedUser.deletedAt range scans of the rating matrix delta.
+ * Applied and health-checked by the shared schema-migrations module; never edit or renumber a
+ * migration that shipped.
+ */
+@Configuration
+public class SchemaConfig {
+
+    @Bean
+    public SchemaMigrations schemaMigrations() {
+        return SchemaMigrations.of(
+                new SchemaMigration(1, "Index SHARED_RECOMMENDATION.toUserId",
+                        "CREATE INDEX shared_recommendation_to_user IF NOT EXISTS FOR ()-[s:SHARED_RECOMMENDATION]-() ON (s.toUserId)",
+                        "shared_recommendation_to_user"),
+                new SchemaMigration(2, "Index User.recommendationsDirty",
+                        "CREATE INDEX user_recommendations_dirty IF NOT EXISTS FOR (u:User) ON (u.recommendationsDirty)",
+                        "user_recommendations_dirty"),
+                new SchemaMigration(3, "Index User.recommendationsComputedAt",
+                        "CREATE INDEX user_recommendations_computed_at IF NOT EXISTS FOR (u:User) ON (u.recommendationsComputedAt)",
+                        "user_recommendations_computed_at"),
+                new SchemaMigration(4, "Unique RecommendationState.name",
+                        "CREATE CONSTRAINT recommendation_state_name IF NOT EXISTS FOR (s:RecommendationState) REQUIRE s.name IS UNIQUE",
+                        "recommendation_state_name"),
+                new SchemaMigration(5, "Index User.ratingsDeletedAt",
+                        "CREATE INDEX user_ratings_deleted_at IF NOT EXISTS FOR (u:User) ON (u.ratingsDeletedAt)",
+                        "user_ratings_deleted_at"),
+                new SchemaMigration(6, "Index DeletedUser.deletedAt",
+                        "CREATE INDEX deleted_user_deleted_at IF NOT EXISTS FOR (d:DeletedUser) ON (d.deletedAt)",
+                        "deleted_user_deleted_at"));
+    }
+}
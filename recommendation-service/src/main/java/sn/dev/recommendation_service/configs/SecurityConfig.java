@@ -1,5 +1,6 @@
 package sn.dev.recommendation_service.configs;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -11,9 +12,13 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import sn.dev.security.jwt.KeycloakJwtDecoders;
+
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -34,9 +39,13 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
 
                         // --- ACTUATOR ENDPOINTS (Health checks) ---
-                        .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+
+                        // --- PUBLIC ENDPOINTS ---
+                        // "Also liked" is derived from all users' ratings, not the caller's.
+                        .requestMatchers(HttpMethod.GET, "/api/recommendations/movie/*/also-liked").permitAll()
 
-                        // --- ALL ENDPOINTS REQUIRE AUTHENTICATION ---
+                        // --- ALL OTHER ENDPOINTS REQUIRE AUTHENTICATION ---
                         // Recommendations are personalized based on user's ratings,
                         // so a valid JWT is always required.
                         .requestMatchers(HttpMethod.GET, "/api/recommendations").authenticated()
@@ -50,6 +59,15 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Keycloak verification behind the shared verified-token cache (security-jwt module)
+    @Bean
+    public JwtDecoder jwtDecoder(MeterRegistry meterRegistry,
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri:}") String jwkSetUri,
+            @Value("${security.jwt.cache.max-size:10000}") long cacheMaxSize) {
+        return KeycloakJwtDecoders.cached(issuerUri, jwkSetUri, cacheMaxSize, meterRegistry);
+    }
+
     /**
      * Maps Keycloak realm_access.roles to Spring Security GrantedAuthority.
      * Enables @PreAuthorize("hasRole('ADMIN')") and similar annotations.
@@ -0,0 +1,349 @@
+package sn.dev.recommendation_service.data.matrix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable sparse movie x feature index for content-based recommendations.
+ *
+ * Features are the movie's genres, directors and cast. Each one is weighted by its kind and by
+ * its inverse document frequency, so a rare director says more than "Drama". Every movie vector
+ * is L2-normalised and stored twice:
+ * - by movie (movieOffsets/movieFeatures/movieWeights), to build a user's taste vector;
+ * - by feature (featureOffsets/featureMovies/featureWeights), an inverted index used to score
+ *   only the movies that share at least one of the user's top features.
+ */
+public final class ContentFeatureIndex {
+
+    public enum FeatureKind {
+        GENRE(1.0f), DIRECTOR(1.5f), ACTOR(0.75f);
+
+        private final float weight;
+
+        FeatureKind(float weight) {
+            this.weight = weight;
+        }
+    }
+
+    public record ContentRecommendation(int tmdbId, double score, String reason) {
+    }
+
+    private static final ScratchPool<Scratch> SCRATCH = new ScratchPool<>(ScratchPool.defaultCapacity(), Scratch::new);
+
+    private final Map<Integer, Integer> movieOrdinals;
+    private final int[] movieIds;
+    private final String[] featureLabels;
+
+    private final int[] movieOffsets;
+    private final int[] movieFeatures;
+    private final float[] movieWeights;
+
+    private final int[] featureOffsets;
+    private final int[] featureMovies;
+    private final float[] featureWeights;
+
+    private ContentFeatureIndex(Map<Integer, Integer> movieOrdinals, int[] movieIds, String[] featureLabels,
+            int[] movieOffsets, int[] movieFeatures, float[] movieWeights,
+            int[] featureOffsets, int[] featureMovies, float[] featureWeights) {
+        this.movieOrdinals = movieOrdinals;
+        this.movieIds = movieIds;
+        this.featureLabels = featureLabels;
+        this.movieOffsets = movieOffsets;
+        this.movieFeatures = movieFeatures;
+        this.movieWeights = movieWeights;
+        this.featureOffsets = featureOffsets;
+        this.featureMovies = featureMovies;
+        this.featureWeights = featureWeights;
+    }
+
+    public int movieCount() {
+        return movieIds.length;
+    }
+
+    public int featureCount() {
+        return featureLabels.length;
+    }
+
+    public int entryCount() {
+        return movieFeatures.length;
+    }
+
+    /**
+     * Ranks movies by cosine similarity between their feature vector and the user's taste vector.
+     *
+     * The taste vector is the sum of the vectors of the movies the user liked (score >= 4), each
+     * weighted by score - 3, truncated to its maxFeatures strongest features. Movies the user has
+     * rated are excluded. The reason names the feature that contributed most to each match.
+     */
+    public List<ContentRecommendation> recommend(Map<Integer, Integer> ratings, int limit, int maxFeatures) {
+        if (ratings.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Scratch s = SCRATCH.borrow();
+        try {
+            return recommend(s, ratings, limit, maxFeatures);
+        } finally {
+            SCRATCH.release(s);
+        }
+    }
+
+    private List<ContentRecommendation> recommend(Scratch s, Map<Integer, Integer> ratings, int limit,
+            int maxFeatures) {
+        s.prepare(movieIds.length, featureLabels.length);
+        int gen = s.generation;
+
+        // 1. Taste vector from liked movies; mark every rated movie for exclusion
+        for (Map.Entry<Integer, Integer> rating : ratings.entrySet()) {
+            Integer movie = movieOrdinals.get(rating.getKey());
+            if (movie == null) {
+                continue;
+            }
+            s.movieRated[movie] = gen;
+            int liked = rating.getValue() - 3;
+            if (liked <= 0) {
+                continue;
+            }
+            for (int i = movieOffsets[movie]; i < movieOffsets[movie + 1]; i++) {
+                int feature = movieFeatures[i];
+                if (s.featureSeen[feature] != gen) {
+                    s.featureSeen[feature] = gen;
+                    s.taste[feature] = 0;
+                    s.features = Scratch.push(s.features, s.featureCount++, feature);
+                }
+                s.taste[feature] += liked * movieWeights[i];
+            }
+        }
+        if (s.featureCount == 0) {
+            return List.of();
+        }
+
+        // 2. Strongest features first: taste values are positive, so their float bits sort like the values
+        long[] ranked = new long[s.featureCount];
+        for (int i = 0; i < s.featureCount; i++) {
+            int feature = s.features[i];
+            ranked[i] = ((long) Float.floatToIntBits(s.taste[feature]) << 32) | feature;
+        }
+        Arrays.sort(ranked);
+        int kept = Math.min(maxFeatures, ranked.length);
+        double tasteNorm = 0;
+        for (int r = ranked.length - 1; r >= ranked.length - kept; r--) {
+            float taste = s.taste[(int) ranked[r]];
+            tasteNorm += taste * taste;
+        }
+        tasteNorm = Math.sqrt(tasteNorm);
+
+        // 3. Score candidates through the inverted index
+        for (int r = ranked.length - 1; r >= ranked.length - kept; r--) {
+            int feature = (int) ranked[r];
+            float taste = s.taste[feature];
+            for (int i = featureOffsets[feature]; i < featureOffsets[feature + 1]; i++) {
+                int movie = featureMovies[i];
+                if (s.movieRated[movie] == gen) {
+                    continue;
+                }
+                float contribution = taste * featureWeights[i];
+                if (s.movieSeen[movie] != gen) {
+                    s.movieSeen[movie] = gen;
+                    s.score[movie] = 0;
+                    s.bestContribution[movie] = 0;
+                    s.candidates = Scratch.push(s.candidates, s.candidateCount++, movie);
+                }
+                s.score[movie] += contribution;
+                if (contribution > s.bestContribution[movie]) {
+                    s.bestContribution[movie] = contribution;
+                    s.bestFeature[movie] = feature;
+                }
+            }
+        }
+
+        // 4. Bounded top-k, kept sorted by insertion
+        int[] top = new int[Math.min(limit, s.candidateCount)];
+        int topSize = 0;
+        for (int c = 0; c < s.candidateCount; c++) {
+            int movie = s.candidates[c];
+            float score = s.score[movie];
+            if (topSize == top.length && score <= s.score[top[topSize - 1]]) {
+                continue;
+            }
+            int pos = topSize == top.length ? topSize - 1 : topSize++;
+            while (pos > 0 && score > s.score[top[pos - 1]]) {
+                top[pos] = top[pos - 1];
+                pos--;
+            }
+            top[pos] = movie;
+        }
+
+        List<ContentRecommendation> result = new ArrayList<>(topSize);
+        for (int i = 0; i < topSize; i++) {
+            int movie = top[i];
+            result.add(new ContentRecommendation(movieIds[movie], s.score[movie] / tasteNorm,
+                    "Because you like " + featureLabels[s.bestFeature[movie]]));
+        }
+        return result;
+    }
+
+    /**
+     * Collects (movie, feature) pairs as they are streamed from Neo4j.
+     */
+    public static final class Builder {
+
+        private final Map<Integer, Integer> movieOrdinals = new HashMap<>();
+        private final Map<Long, Integer> featureOrdinals = new HashMap<>();
+        private int[] movieIds = new int[1024];
+        private final List<String> featureLabels = new ArrayList<>();
+        private final List<FeatureKind> featureKinds = new ArrayList<>();
+        private int[] pairMovies = new int[4096];
+        private int[] pairFeatures = new int[4096];
+        private int size;
+
+        public void add(int tmdbId, FeatureKind kind, int featureId, String label) {
+            Integer movie = movieOrdinals.get(tmdbId);
+            if (movie == null) {
+                movie = movieOrdinals.size();
+                movieOrdinals.put(tmdbId, movie);
+                if (movie == movieIds.length) {
+                    movieIds = Arrays.copyOf(movieIds, movieIds.length * 2);
+                }
+                movieIds[movie] = tmdbId;
+            }
+            long key = ((long) kind.ordinal() << 32) | (featureId & 0xFFFFFFFFL);
+            Integer feature = featureOrdinals.get(key);
+            if (feature == null) {
+                feature = featureLabels.size();
+                featureOrdinals.put(key, feature);
+                featureLabels.add(label != null ? label : kind.name().toLowerCase() + " " + featureId);
+                featureKinds.add(kind);
+            }
+            if (size == pairMovies.length) {
+                pairMovies = Arrays.copyOf(pairMovies, size * 2);
+                pairFeatures = Arrays.copyOf(pairFeatures, size * 2);
+            }
+            pairMovies[size] = movie;
+            pairFeatures[size] = feature;
+            size++;
+        }
+
+        public ContentFeatureIndex build() {
+            int movies = movieOrdinals.size();
+            int features = featureLabels.size();
+
+            // Weight = kind weight x idf
+            int[] documentFrequency = new int[features];
+            for (int i = 0; i < size; i++) {
+                documentFrequency[pairFeatures[i]]++;
+            }
+            float[] featureWeight = new float[features];
+            for (int f = 0; f < features; f++) {
+                featureWeight[f] = featureKinds.get(f).weight
+                        * (float) Math.log(1.0 + (double) movies / documentFrequency[f]);
+            }
+
+            // By movie, then L2-normalise each row
+            int[] movieOffsets = offsets(pairMovies, size, movies);
+            int[] movieFeatures = new int[size];
+            float[] movieWeights = new float[size];
+            int[] cursor = Arrays.copyOf(movieOffsets, movies);
+            for (int i = 0; i < size; i++) {
+                int slot = cursor[pairMovies[i]]++;
+                movieFeatures[slot] = pairFeatures[i];
+                movieWeights[slot] = featureWeight[pairFeatures[i]];
+            }
+            for (int m = 0; m < movies; m++) {
+                double norm = 0;
+                for (int i = movieOffsets[m]; i < movieOffsets[m + 1]; i++) {
+                    norm += movieWeights[i] * movieWeights[i];
+                }
+                float inverse = norm == 0 ? 0f : (float) (1.0 / Math.sqrt(norm));
+                for (int i = movieOffsets[m]; i < movieOffsets[m + 1]; i++) {
+                    movieWeights[i] *= inverse;
+                }
+            }
+
+            // Inverted index by feature
+            int[] featureOffsets = offsets(movieFeatures, size, features);
+            int[] featureMovies = new int[size];
+            float[] featureWeights = new float[size];
+            cursor = Arrays.copyOf(featureOffsets, features);
+            for (int m = 0; m < movies; m++) {
+                for (int i = movieOffsets[m]; i < movieOffsets[m + 1]; i++) {
+                    int slot = cursor[movieFeatures[i]]++;
+                    featureMovies[slot] = m;
+                    featureWeights[slot] = movieWeights[i];
+                }
+            }
+
+            return new ContentFeatureIndex(Map.copyOf(movieOrdinals), Arrays.copyOf(movieIds, movies),
+                    featureLabels.toArray(String[]::new),
+                    movieOffsets, movieFeatures, movieWeights,
+                    featureOffsets, featureMovies, featureWeights);
+        }
+
+        private static int[] offsets(int[] keys, int size, int buckets) {
+            int[] offsets = new int[buckets + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[keys[i] + 1]++;
+            }
+            for (int b = 0; b < buckets; b++) {
+                offsets[b + 1] += offsets[b];
+            }
+            return offsets;
+        }
+    }
+
+    /**
+     * Pooled working arrays; entries are valid only where the stamp equals the current generation.
+     */
+    private static final class Scratch {
+
+        int generation;
+        int[] movieRated = new int[0];
+        int[] movieSeen = new int[0];
+        float[] score = new float[0];
+        float[] bestContribution = new float[0];
+        int[] bestFeature = new int[0];
+        int[] featureSeen = new int[0];
+        float[] taste = new float[0];
+        int[] features = new int[64];
+        int featureCount;
+        int[] candidates = new int[256];
+        int candidateCount;
+
+        void prepare(int movies, int featureTotal) {
+            if (movieRated.length < movies) {
+                movieRated = new int[movies];
+                movieSeen = new int[movies];
+                score = new float[movies];
+                bestContribution = new float[movies];
+                bestFeature = new int[movies];
+                generation = 0;
+                Arrays.fill(featureSeen, 0);
+            }
+            if (featureSeen.length < featureTotal) {
+                featureSeen = new int[featureTotal];
+                taste = new float[featureTotal];
+                generation = 0;
+                Arrays.fill(movieRated, 0);
+                Arrays.fill(movieSeen, 0);
+            }
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(movieRated, 0);
+                Arrays.fill(movieSeen, 0);
+                Arrays.fill(featureSeen, 0);
+                generation = 1;
+            }
+            featureCount = 0;
+            candidateCount = 0;
+        }
+
+        static int[] push(int[] array, int index, int value) {
+            if (index == array.length) {
+                array = Arrays.copyOf(array, array.length * 2);
+            }
+            array[index] = value;
+            return array;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package sn.dev.recommendation_service.data.matrix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Item-item adjusted cosine similarity over a {@link RatingMatrixSnapshot}.
+ *
+ * Each rating is centred on its user's mean score, so a 3 from a harsh rater and a 5 from a
+ * generous one count alike:
+ *
+ *   sim(i, j) = sum_u (r_ui - mean_u)(r_uj - mean_u) / (|i| * |j|)
+ *
+ * where |i| is the norm of movie i's centred column. For every target movie the co-rated
+ * movies are accumulated by walking its raters' rows, so the cost is proportional to the
+ * ratings actually shared, not to movies squared. Targets are split into ranges and processed
+ * with fork/join; each leaf range borrows scratch arrays from a pool that lives only as long as
+ * the computation, so nothing stays attached to the long-lived pool workers.
+ */
+public final class ItemSimilarity {
+
+    private static final int SPLIT_THRESHOLD = 64;
+
+    public record Neighbour(int tmdbId, double similarity, int coRaters) {
+    }
+
+    public record MovieNeighbours(int tmdbId, List<Neighbour> neighbours) {
+    }
+
+    private final RatingMatrixSnapshot snapshot;
+    private final int k;
+    private final int minCoRaters;
+    private final int movies;
+    private final float[] userMeans;
+    private final float[] movieNorms;
+
+    private ItemSimilarity(RatingMatrixSnapshot snapshot, int k, int minCoRaters, ForkJoinPool pool) {
+        this.snapshot = snapshot;
+        this.k = Math.max(1, k);
+        this.minCoRaters = minCoRaters;
+        RatingOrdinals ordinals = snapshot.ordinals();
+        int users = ordinals.userCount();
+        this.movies = ordinals.movieCount();
+        this.userMeans = new float[users];
+        this.movieNorms = new float[movies];
+
+        pool.invoke(new RangeTask(0, users, RangeTask.each(user -> {
+            long[] sumAndCount = new long[2];
+            snapshot.forEachRating(user, (movie, score) -> {
+                sumAndCount[0] += score;
+                sumAndCount[1]++;
+            });
+            userMeans[user] = sumAndCount[1] == 0 ? 0f : (float) sumAndCount[0] / sumAndCount[1];
+        })));
+        pool.invoke(new RangeTask(0, movies, RangeTask.each(movie -> {
+            double[] squares = new double[1];
+            snapshot.forEachRater(movie, (user, score) -> {
+                double centred = score - userMeans[user];
+                squares[0] += centred * centred;
+            });
+            movieNorms[movie] = (float) Math.sqrt(squares[0]);
+        })));
+    }
+
+    /**
+     * Top-k most similar movies for every movie in the snapshot.
+     */
+    public static List<MovieNeighbours> computeAll(RatingMatrixSnapshot snapshot, int k, int minCoRaters,
+            ForkJoinPool pool) {
+        ItemSimilarity similarity = new ItemSimilarity(snapshot, k, minCoRaters, pool);
+        int[] targets = new int[similarity.movies];
+        Arrays.setAll(targets, i -> i);
+        return similarity.compute(targets, pool);
+    }
+
+    /**
+     * Top-k most similar movies for the given movies only; unknown tmdbIds are skipped.
+     */
+    public static List<MovieNeighbours> compute(RatingMatrixSnapshot snapshot, List<Integer> tmdbIds, int k,
+            int minCoRaters, ForkJoinPool pool) {
+        RatingOrdinals ordinals = snapshot.ordinals();
+        int[] targets = tmdbIds.stream()
+                .map(ordinals::findMovie)
+                .filter(ordinal -> ordinal != null)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        if (targets.length == 0) {
+            return List.of();
+        }
+        return new ItemSimilarity(snapshot, k, minCoRaters, pool).compute(targets, pool);
+    }
+
+    private List<MovieNeighbours> compute(int[] targets, ForkJoinPool pool) {
+        MovieNeighbours[] results = new MovieNeighbours[targets.length];
+        ScratchPool<Scratch> scratch = new ScratchPool<>(pool.getParallelism() + 1, () -> new Scratch(movies));
+        pool.invoke(new RangeTask(0, targets.length, (from, to) -> {
+            Scratch s = scratch.borrow();
+            try {
+                for (int i = from; i < to; i++) {
+                    results[i] = neighboursOf(targets[i], s);
+                }
+            } finally {
+                scratch.release(s);
+            }
+        }));
+        return Arrays.asList(results);
+    }
+
+    private MovieNeighbours neighboursOf(int target, Scratch s) {
+        int gen = s.nextGeneration();
+        RatingOrdinals ordinals = snapshot.ordinals();
+
+        // Accumulate centred dot products with every movie co-rated by one of the target's raters
+        snapshot.forEachRater(target, (user, targetScore) -> {
+            float mean = userMeans[user];
+            double centredTarget = targetScore - mean;
+            snapshot.forEachRating(user, (movie, score) -> {
+                if (movie == target) {
+                    return;
+                }
+                if (s.seen[movie] != gen) {
+                    s.seen[movie] = gen;
+                    s.dot[movie] = 0;
+                    s.coRaters[movie] = 0;
+                    s.touched = s.push(s.touched, s.touchedCount++, movie);
+                }
+                s.dot[movie] += centredTarget * (score - mean);
+                s.coRaters[movie]++;
+            });
+        });
+
+        // Bounded top-k by similarity, kept sorted by insertion
+        int[] top = new int[k];
+        double[] topSim = new double[k];
+        int topSize = 0;
+        float targetNorm = movieNorms[target];
+        for (int t = 0; t < s.touchedCount; t++) {
+            int movie = s.touched[t];
+            if (s.coRaters[movie] < minCoRaters || targetNorm == 0 || movieNorms[movie] == 0) {
+                continue;
+            }
+            double sim = s.dot[movie] / (targetNorm * movieNorms[movie]);
+            if (sim <= 0 || (topSize == k && sim <= topSim[topSize - 1])) {
+                continue;
+            }
+            int pos = topSize == k ? topSize - 1 : topSize++;
+            while (pos > 0 && sim > topSim[pos - 1]) {
+                top[pos] = top[pos - 1];
+                topSim[pos] = topSim[pos - 1];
+                pos--;
+            }
+            top[pos] = movie;
+            topSim[pos] = sim;
+        }
+
+        List<Neighbour> neighbours = new ArrayList<>(topSize);
+        for (int i = 0; i < topSize; i++) {
+            neighbours.add(new Neighbour(ordinals.tmdbId(top[i]), topSim[i], s.coRaters[top[i]]));
+        }
+        return new MovieNeighbours(ordinals.tmdbId(target), neighbours);
+    }
+
+    /**
+     * Splits [from, to) in halves until ranges are small enough to run directly.
+     */
+    private static final class RangeTask extends RecursiveAction {
+
+        @FunctionalInterface
+        interface RangeAction {
+            void run(int from, int to);
+        }
+
+        private final int from;
+        private final int to;
+        private final RangeAction action;
+
+        RangeTask(int from, int to, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        static RangeAction each(IntConsumer action) {
+            return (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    action.accept(i);
+                }
+            };
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                action.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, action), new RangeTask(mid, to, action));
+        }
+    }
+
+    /**
+     * Accumulators for one leaf range at a time, valid only where seen[movie] equals the current generation.
+     */
+    private static final class Scratch {
+
+        final int[] seen;
+        final double[] dot;
+        final int[] coRaters;
+        int[] touched = new int[256];
+        int touchedCount;
+        int generation;
+
+        Scratch(int movies) {
+            seen = new int[movies];
+            dot = new double[movies];
+            coRaters = new int[movies];
+        }
+
+        int nextGeneration() {
+            touchedCount = 0;
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(seen, 0);
+                generation = 1;
+            }
+            return generation;
+        }
+
+        int[] push(int[] array, int index, int value) {
+            if (index == array.length) {
+                array = Arrays.copyOf(array, array.length * 2);
+            }
+            array[index] = value;
+            return array;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package sn.dev.recommendation_service.data.matrix;
+
+/**
+ * One collaborative-filtering candidate: average score given by similar users and how many of them rated it >= 4.
+ */
+public record MatrixRecommendation(int tmdbId, double score, int recommenders) {
+}
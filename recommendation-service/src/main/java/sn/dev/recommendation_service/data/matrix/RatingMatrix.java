@@ -0,0 +1,131 @@
+package sn.dev.recommendation_service.data.matrix;
+
+import java.util.Arrays;
+
+/**
+ * Immutable sparse user x movie rating matrix over dense ordinals (see {@link RatingOrdinals}).
+ *
+ * Stored twice so both directions are a contiguous slice:
+ * - CSR (by user):  rowOffsets[u]..rowOffsets[u+1] index rowMovies/rowScores, sorted by movie;
+ * - CSC (by movie): colOffsets[m]..colOffsets[m+1] index colUsers/colScores, sorted by user.
+ *
+ * Memory: one int ordinal + one byte score per direction, i.e. 10 bytes per rating
+ * (10M ratings ~ 100 MB), plus 4 bytes per user and per movie for the offsets.
+ */
+public final class RatingMatrix {
+
+    static final RatingMatrix EMPTY = new Builder().build(0, 0);
+
+    final int users;
+    final int movies;
+
+    final int[] rowOffsets;
+    final int[] rowMovies;
+    final byte[] rowScores;
+
+    final int[] colOffsets;
+    final int[] colUsers;
+    final byte[] colScores;
+
+    private RatingMatrix(int users, int movies,
+            int[] rowOffsets, int[] rowMovies, byte[] rowScores,
+            int[] colOffsets, int[] colUsers, byte[] colScores) {
+        this.users = users;
+        this.movies = movies;
+        this.rowOffsets = rowOffsets;
+        this.rowMovies = rowMovies;
+        this.rowScores = rowScores;
+        this.colOffsets = colOffsets;
+        this.colUsers = colUsers;
+        this.colScores = colScores;
+    }
+
+    public int ratingCount() {
+        return rowMovies.length;
+    }
+
+    public long estimatedBytes() {
+        return 10L * ratingCount() + 4L * (users + 1) + 4L * (movies + 1);
+    }
+
+    /**
+     * Accumulates (user, movie, score) triples in growable primitive arrays (9 bytes per rating),
+     * then sorts them into CSR/CSC with counting sorts. Each (user, movie) pair must appear once.
+     */
+    public static final class Builder {
+
+        private int[] userOrds = new int[1024];
+        private int[] movieOrds = new int[1024];
+        private byte[] scores = new byte[1024];
+        private int size;
+
+        public void add(int user, int movie, int score) {
+            if (size == scores.length) {
+                int capacity = size + (size >> 1);
+                userOrds = Arrays.copyOf(userOrds, capacity);
+                movieOrds = Arrays.copyOf(movieOrds, capacity);
+                scores = Arrays.copyOf(scores, capacity);
+            }
+            userOrds[size] = user;
+            movieOrds[size] = movie;
+            scores[size] = (byte) score;
+            size++;
+        }
+
+        public RatingMatrix build(int users, int movies) {
+            // Pass 1: group by user (rows in load order)
+            int[] byUserOffsets = offsets(userOrds, size, users);
+            int[] byUserMovies = new int[size];
+            byte[] byUserScores = new byte[size];
+            int[] cursor = Arrays.copyOf(byUserOffsets, users);
+            for (int i = 0; i < size; i++) {
+                int slot = cursor[userOrds[i]]++;
+                byUserMovies[slot] = movieOrds[i];
+                byUserScores[slot] = scores[i];
+            }
+            userOrds = null;
+            movieOrds = null;
+            scores = null;
+
+            // Pass 2: CSC, walking users in order so every column ends up sorted by user
+            int[] colOffsets = offsets(byUserMovies, size, movies);
+            int[] colUsers = new int[size];
+            byte[] colScores = new byte[size];
+            cursor = Arrays.copyOf(colOffsets, movies);
+            for (int u = 0; u < users; u++) {
+                for (int i = byUserOffsets[u]; i < byUserOffsets[u + 1]; i++) {
+                    int slot = cursor[byUserMovies[i]]++;
+                    colUsers[slot] = u;
+                    colScores[slot] = byUserScores[i];
+                }
+            }
+
+            // Pass 3: CSR, walking movies in order so every row ends up sorted by movie
+            int[] rowMovies = byUserMovies;
+            byte[] rowScores = byUserScores;
+            cursor = Arrays.copyOf(byUserOffsets, users);
+            for (int m = 0; m < movies; m++) {
+                for (int i = colOffsets[m]; i < colOffsets[m + 1]; i++) {
+                    int slot = cursor[colUsers[i]]++;
+                    rowMovies[slot] = m;
+                    rowScores[slot] = colScores[i];
+                }
+            }
+
+            return new RatingMatrix(users, movies,
+                    byUserOffsets, rowMovies, rowScores,
+                    colOffsets, colUsers, colScores);
+        }
+
+        private static int[] offsets(int[] keys, int size, int buckets) {
+            int[] offsets = new int[buckets + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[keys[i] + 1]++;
+            }
+            for (int b = 0; b < buckets; b++) {
+                offsets[b + 1] += offsets[b];
+            }
+            return offsets;
+        }
+    }
+}
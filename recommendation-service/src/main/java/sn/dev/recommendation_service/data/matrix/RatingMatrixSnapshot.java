@@ -0,0 +1,321 @@
+package sn.dev.recommendation_service.data.matrix;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Point-in-time view of all ratings: the base matrix plus the overlay of later changes,
+ * and the RATED timestamp up to which changes are included.
+ *
+ * {@link #recommend} runs the same collaborative filtering as the Cypher query in
+ * PrecomputedRecommendationRepository, but over primitive arrays with pooled scratch
+ * buffers, so it allocates almost nothing beyond the result list.
+ */
+public final class RatingMatrixSnapshot {
+
+    private static final int LIKED = 4;
+
+    @FunctionalInterface
+    interface RatingVisitor {
+        void visit(int ordinal, int score);
+    }
+
+    private static final ScratchPool<Scratch> SCRATCH = new ScratchPool<>(ScratchPool.defaultCapacity(), Scratch::new);
+
+    private final RatingOrdinals ordinals;
+    private final RatingMatrix base;
+    private final RatingOverlay overlay;
+    private final ZonedDateTime watermark;
+
+    private RatingMatrixSnapshot(RatingOrdinals ordinals, RatingMatrix base, RatingOverlay overlay,
+            ZonedDateTime watermark) {
+        this.ordinals = ordinals;
+        this.base = base;
+        this.overlay = overlay;
+        this.watermark = watermark;
+    }
+
+    // ==================== BUILDING ====================
+
+    /**
+     * Collects a full load; ordinals are assigned in arrival order.
+     */
+    public static final class Loader {
+
+        private final RatingOrdinals ordinals = new RatingOrdinals();
+        private final RatingMatrix.Builder builder = new RatingMatrix.Builder();
+
+        public void add(String keycloakId, int tmdbId, int score) {
+            builder.add(ordinals.userOrdinal(keycloakId), ordinals.movieOrdinal(tmdbId), score);
+        }
+
+        public RatingMatrixSnapshot build(ZonedDateTime watermark) {
+            RatingMatrix matrix = builder.build(ordinals.userCount(), ordinals.movieCount());
+            return new RatingMatrixSnapshot(ordinals, matrix, RatingOverlay.EMPTY, watermark);
+        }
+    }
+
+    /**
+     * Collects changed ratings to apply on top of this snapshot.
+     */
+    public final class Delta {
+
+        private int[] users = new int[64];
+        private int[] movies = new int[64];
+        private byte[] scores = new byte[64];
+        private int size;
+
+        public void add(String keycloakId, int tmdbId, int score) {
+            append(ordinals.userOrdinal(keycloakId), ordinals.movieOrdinal(tmdbId), (byte) score);
+        }
+
+        /**
+         * Drops the user's ratings that are gone from the graph: every movie this snapshot holds for
+         * the user but that is not in currentTmdbIds gets a tombstone. Call before adding the changed
+         * ratings of the same poll, so a later add of the same pair wins.
+         */
+        public void retainOnly(String keycloakId, Set<Integer> currentTmdbIds) {
+            Integer user = ordinals.findUser(keycloakId);
+            if (user == null) {
+                return;
+            }
+            forEachRating(user, (movie, score) -> {
+                if (!currentTmdbIds.contains(ordinals.tmdbId(movie))) {
+                    append(user, movie, RatingOverlay.REMOVED);
+                }
+            });
+        }
+
+        private void append(int user, int movie, byte score) {
+            if (size == scores.length) {
+                users = Arrays.copyOf(users, size * 2);
+                movies = Arrays.copyOf(movies, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            users[size] = user;
+            movies[size] = movie;
+            scores[size] = score;
+            size++;
+        }
+
+        public RatingMatrixSnapshot apply(ZonedDateTime newWatermark) {
+            if (size == 0) {
+                return new RatingMatrixSnapshot(ordinals, base, overlay, newWatermark);
+            }
+            return new RatingMatrixSnapshot(ordinals, base, overlay.merge(users, movies, scores, size), newWatermark);
+        }
+    }
+
+    public Delta delta() {
+        return new Delta();
+    }
+
+    // ==================== STATS ====================
+
+    RatingOrdinals ordinals() {
+        return ordinals;
+    }
+
+    public ZonedDateTime watermark() {
+        return watermark;
+    }
+
+    public int baseRatings() {
+        return base.ratingCount();
+    }
+
+    public int overlayRatings() {
+        return overlay.size();
+    }
+
+    public long estimatedBytes() {
+        // overlay: two 8-byte keys + two 1-byte scores per change
+        return base.estimatedBytes() + 18L * overlay.size() + ordinals.estimatedBytes();
+    }
+
+    // ==================== COLLABORATIVE FILTERING ====================
+
+    /**
+     * Movies rated >= 4 by users who rated >= 4 a movie this user also rated, excluding movies
+     * the user has rated, ranked by number of such users then by their average score.
+     */
+    public List<MatrixRecommendation> recommend(String keycloakId, int limit) {
+        Integer userOrdinal = ordinals.findUser(keycloakId);
+        if (userOrdinal == null || limit <= 0) {
+            return List.of();
+        }
+        Scratch s = SCRATCH.borrow();
+        try {
+            return recommend(s, userOrdinal, limit);
+        } finally {
+            SCRATCH.release(s);
+        }
+    }
+
+    private List<MatrixRecommendation> recommend(Scratch s, int user, int limit) {
+        s.prepare(ordinals.userCount(), ordinals.movieCount());
+        int gen = s.generation;
+
+        // 1. Movies the user rated; their raters with a score >= 4 are the neighbours
+        forEachRating(user, (movie, score) -> s.movieRated[movie] = gen);
+        forEachRating(user, (movie, score) -> forEachRater(movie, (other, otherScore) -> {
+            if (other != user && otherScore >= LIKED && s.userSeen[other] != gen) {
+                s.userSeen[other] = gen;
+                s.neighbours = s.push(s.neighbours, s.neighbourCount++, other);
+            }
+        }));
+
+        // 2. Movies the neighbours liked that the user has not rated
+        for (int n = 0; n < s.neighbourCount; n++) {
+            forEachRating(s.neighbours[n], (movie, score) -> {
+                if (score < LIKED || s.movieRated[movie] == gen) {
+                    return;
+                }
+                if (s.movieCandidate[movie] != gen) {
+                    s.movieCandidate[movie] = gen;
+                    s.count[movie] = 0;
+                    s.sum[movie] = 0;
+                    s.candidates = s.push(s.candidates, s.candidateCount++, movie);
+                }
+                s.count[movie]++;
+                s.sum[movie] += score;
+            });
+        }
+
+        // 3. Bounded top-k by (count desc, average desc), kept sorted by insertion
+        int[] top = new int[Math.min(limit, s.candidateCount)];
+        int topSize = 0;
+        for (int c = 0; c < s.candidateCount; c++) {
+            int movie = s.candidates[c];
+            if (topSize == top.length && !better(s, movie, top[topSize - 1])) {
+                continue;
+            }
+            int pos = topSize == top.length ? topSize - 1 : topSize++;
+            while (pos > 0 && better(s, movie, top[pos - 1])) {
+                top[pos] = top[pos - 1];
+                pos--;
+            }
+            top[pos] = movie;
+        }
+
+        List<MatrixRecommendation> result = new ArrayList<>(topSize);
+        for (int i = 0; i < topSize; i++) {
+            int movie = top[i];
+            result.add(new MatrixRecommendation(ordinals.tmdbId(movie),
+                    (double) s.sum[movie] / s.count[movie], s.count[movie]));
+        }
+        return result;
+    }
+
+    private static boolean better(Scratch s, int a, int b) {
+        if (s.count[a] != s.count[b]) {
+            return s.count[a] > s.count[b];
+        }
+        // compare averages without dividing: sum[a]/count[a] > sum[b]/count[b]
+        return (long) s.sum[a] * s.count[b] > (long) s.sum[b] * s.count[a];
+    }
+
+    /**
+     * Visits the user's ratings in movie order, overlay scores replacing base ones
+     * (a tombstone hides the base rating and is not visited).
+     */
+    void forEachRating(int user, RatingVisitor visitor) {
+        int b = user < base.users ? base.rowOffsets[user] : 0;
+        int bEnd = user < base.users ? base.rowOffsets[user + 1] : 0;
+        int o = RatingOverlay.lowerBound(overlay.rowKeys, user);
+        while (b < bEnd || (o < overlay.rowKeys.length && RatingOverlay.first(overlay.rowKeys[o]) == user)) {
+            int baseMovie = b < bEnd ? base.rowMovies[b] : Integer.MAX_VALUE;
+            int overlayMovie = o < overlay.rowKeys.length && RatingOverlay.first(overlay.rowKeys[o]) == user
+                    ? RatingOverlay.second(overlay.rowKeys[o])
+                    : Integer.MAX_VALUE;
+            if (overlayMovie <= baseMovie) {
+                byte score = overlay.rowScores[o++];
+                if (score != RatingOverlay.REMOVED) {
+                    visitor.visit(overlayMovie, score);
+                }
+                if (overlayMovie == baseMovie) {
+                    b++;
+                }
+            } else {
+                visitor.visit(baseMovie, base.rowScores[b++]);
+            }
+        }
+    }
+
+    /**
+     * Visits the movie's raters in user order, overlay scores replacing base ones
+     * (a tombstone hides the base rating and is not visited).
+     */
+    void forEachRater(int movie, RatingVisitor visitor) {
+        int b = movie < base.movies ? base.colOffsets[movie] : 0;
+        int bEnd = movie < base.movies ? base.colOffsets[movie + 1] : 0;
+        int o = RatingOverlay.lowerBound(overlay.colKeys, movie);
+        while (b < bEnd || (o < overlay.colKeys.length && RatingOverlay.first(overlay.colKeys[o]) == movie)) {
+            int baseUser = b < bEnd ? base.colUsers[b] : Integer.MAX_VALUE;
+            int overlayUser = o < overlay.colKeys.length && RatingOverlay.first(overlay.colKeys[o]) == movie
+                    ? RatingOverlay.second(overlay.colKeys[o])
+                    : Integer.MAX_VALUE;
+            if (overlayUser <= baseUser) {
+                byte score = overlay.colScores[o++];
+                if (score != RatingOverlay.REMOVED) {
+                    visitor.visit(overlayUser, score);
+                }
+                if (overlayUser == baseUser) {
+                    b++;
+                }
+            } else {
+                visitor.visit(baseUser, base.colScores[b++]);
+            }
+        }
+    }
+
+    /**
+     * Pooled working arrays sized to the ordinal space. Entries are only valid when their
+     * stamp equals the current generation, so nothing has to be cleared between calls.
+     */
+    private static final class Scratch {
+
+        int generation;
+        int[] userSeen = new int[0];
+        int[] movieRated = new int[0];
+        int[] movieCandidate = new int[0];
+        int[] count = new int[0];
+        int[] sum = new int[0];
+        int[] neighbours = new int[256];
+        int neighbourCount;
+        int[] candidates = new int[256];
+        int candidateCount;
+
+        void prepare(int users, int movies) {
+            if (userSeen.length < users) {
+                userSeen = Arrays.copyOf(userSeen, users + (users >> 3));
+            }
+            if (movieRated.length < movies) {
+                int size = movies + (movies >> 3);
+                movieRated = Arrays.copyOf(movieRated, size);
+                movieCandidate = Arrays.copyOf(movieCandidate, size);
+                count = Arrays.copyOf(count, size);
+                sum = Arrays.copyOf(sum, size);
+            }
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(userSeen, 0);
+                Arrays.fill(movieRated, 0);
+                Arrays.fill(movieCandidate, 0);
+                generation = 1;
+            }
+            neighbourCount = 0;
+            candidateCount = 0;
+        }
+
+        int[] push(int[] array, int index, int value) {
+            if (index == array.length) {
+                array = Arrays.copyOf(array, array.length * 2);
+            }
+            array[index] = value;
+            return array;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package sn.dev.recommendation_service.data.matrix;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only mapping between external ids (keycloakId, tmdbId) and the dense ordinals used
+ * as matrix indexes. Ordinals are only ever assigned by the single loader thread; request
+ * threads look them up concurrently.
+ *
+ * Costs per entry, not per rating: roughly 100 bytes per user (id String + map entry)
+ * and 60 bytes per movie.
+ */
+public final class RatingOrdinals {
+
+    private final ConcurrentHashMap<String, Integer> userOrdinals = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Integer> movieOrdinals = new ConcurrentHashMap<>();
+    private volatile int[] movieIds = new int[1024];
+    private volatile int movieCount;
+
+    public Integer findUser(String keycloakId) {
+        return userOrdinals.get(keycloakId);
+    }
+
+    public Integer findMovie(int tmdbId) {
+        return movieOrdinals.get(tmdbId);
+    }
+
+    public int userCount() {
+        return userOrdinals.size();
+    }
+
+    public int movieCount() {
+        return movieCount;
+    }
+
+    public int tmdbId(int movieOrdinal) {
+        return movieIds[movieOrdinal];
+    }
+
+    synchronized int userOrdinal(String keycloakId) {
+        Integer ordinal = userOrdinals.get(keycloakId);
+        if (ordinal == null) {
+            ordinal = userOrdinals.size();
+            userOrdinals.put(keycloakId, ordinal);
+        }
+        return ordinal;
+    }
+
+    synchronized int movieOrdinal(int tmdbId) {
+        Integer ordinal = movieOrdinals.get(tmdbId);
+        if (ordinal == null) {
+            ordinal = movieCount;
+            int[] ids = movieIds;
+            if (ordinal == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[ordinal] = tmdbId;
+            movieIds = ids;
+            movieOrdinals.put(tmdbId, ordinal);
+            movieCount = ordinal + 1;
+        }
+        return ordinal;
+    }
+
+    long estimatedBytes() {
+        return 100L * userOrdinals.size() + 60L * movieCount;
+    }
+}
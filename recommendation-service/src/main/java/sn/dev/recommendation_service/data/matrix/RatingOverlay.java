@@ -0,0 +1,139 @@
+package sn.dev.recommendation_service.data.matrix;
+
+import java.util.Arrays;
+
+/**
+ * Ratings changed since the base {@link RatingMatrix} was built, as two sorted packed-key
+ * arrays: (user << 32 | movie) for row access and (movie << 32 | user) for column access.
+ * An overlay entry replaces the base score for the same pair; a score of {@link #REMOVED} is a
+ * tombstone for a rating deleted since the base was built.
+ *
+ * Immutable; each delta poll produces a new overlay, and a full reload folds it back into the base.
+ */
+final class RatingOverlay {
+
+    static final byte REMOVED = 0;
+
+    static final RatingOverlay EMPTY = new RatingOverlay(new long[0], new byte[0], new long[0], new byte[0]);
+
+    final long[] rowKeys;
+    final byte[] rowScores;
+    final long[] colKeys;
+    final byte[] colScores;
+
+    private RatingOverlay(long[] rowKeys, byte[] rowScores, long[] colKeys, byte[] colScores) {
+        this.rowKeys = rowKeys;
+        this.rowScores = rowScores;
+        this.colKeys = colKeys;
+        this.colScores = colScores;
+    }
+
+    int size() {
+        return rowKeys.length;
+    }
+
+    /**
+     * Returns a new overlay with the given changes applied; for repeated pairs the last change wins.
+     */
+    RatingOverlay merge(int[] users, int[] movies, byte[] scores, int count) {
+        int total = rowKeys.length + count;
+        long[] keys = Arrays.copyOf(rowKeys, total);
+        byte[] values = Arrays.copyOf(rowScores, total);
+        for (int i = 0; i < count; i++) {
+            keys[rowKeys.length + i] = pack(users[i], movies[i]);
+            values[rowKeys.length + i] = scores[i];
+        }
+
+        int[] rowKept = lastPerKey(keys);
+        long[] mergedRowKeys = new long[rowKept.length];
+        byte[] mergedRowScores = new byte[rowKept.length];
+        long[] transposed = new long[rowKept.length];
+        for (int i = 0; i < rowKept.length; i++) {
+            mergedRowKeys[i] = keys[rowKept[i]];
+            mergedRowScores[i] = values[rowKept[i]];
+            transposed[i] = pack(second(mergedRowKeys[i]), first(mergedRowKeys[i]));
+        }
+
+        // Keys are unique by now, so this is just a sort
+        int[] colOrder = lastPerKey(transposed);
+        long[] mergedColKeys = new long[colOrder.length];
+        byte[] mergedColScores = new byte[colOrder.length];
+        for (int i = 0; i < colOrder.length; i++) {
+            mergedColKeys[i] = transposed[colOrder[i]];
+            mergedColScores[i] = mergedRowScores[colOrder[i]];
+        }
+
+        return new RatingOverlay(mergedRowKeys, mergedRowScores, mergedColKeys, mergedColScores);
+    }
+
+    static long pack(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    static int first(long key) {
+        return (int) (key >>> 32);
+    }
+
+    static int second(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Index of the first key whose high half is >= prefix.
+     */
+    static int lowerBound(long[] keys, int prefix) {
+        long target = pack(prefix, 0);
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < target) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Indexes of keys in sorted order, keeping only the last occurrence of each key (stable sort)
+    private static int[] lastPerKey(long[] keys) {
+        int[] order = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        mergeSort(order, new int[order.length], 0, order.length, keys);
+
+        int n = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (n > 0 && keys[order[n - 1]] == keys[order[i]]) {
+                order[n - 1] = order[i];
+            } else {
+                order[n++] = order[i];
+            }
+        }
+        return Arrays.copyOf(order, n);
+    }
+
+    private static void mergeSort(int[] order, int[] buffer, int from, int to, long[] keys) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(order, buffer, from, mid, keys);
+        mergeSort(order, buffer, mid, to, keys);
+        int i = from;
+        int j = mid;
+        int k = from;
+        while (i < mid && j < to) {
+            buffer[k++] = keys[order[j]] < keys[order[i]] ? order[j++] : order[i++];
+        }
+        while (i < mid) {
+            buffer[k++] = order[i++];
+        }
+        while (j < to) {
+            buffer[k++] = order[j++];
+        }
+        System.arraycopy(buffer, from, order, from, to - from);
+    }
+}
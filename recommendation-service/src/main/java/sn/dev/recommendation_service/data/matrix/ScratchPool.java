@@ -0,0 +1,35 @@
+package sn.dev.recommendation_service.data.matrix;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of reusable working buffers, borrowed for one call and released in a finally block.
+ *
+ * Used instead of ThreadLocals: strategies run on a new virtual thread per call, where a
+ * ThreadLocal would start empty every time. Borrowing from an empty pool creates a new
+ * instance; releasing into a full pool drops it, so at most capacity buffers are retained.
+ */
+final class ScratchPool<T> {
+
+    private final ArrayBlockingQueue<T> idle;
+    private final Supplier<T> factory;
+
+    ScratchPool(int capacity, Supplier<T> factory) {
+        this.idle = new ArrayBlockingQueue<>(capacity);
+        this.factory = factory;
+    }
+
+    static int defaultCapacity() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    T borrow() {
+        T scratch = idle.poll();
+        return scratch != null ? scratch : factory.get();
+    }
+
+    void release(T scratch) {
+        idle.offer(scratch);
+    }
+}
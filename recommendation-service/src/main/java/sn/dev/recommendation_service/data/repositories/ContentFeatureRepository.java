@@ -0,0 +1,81 @@
+package sn.dev.recommendation_service.data.repositories;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import sn.dev.recommendation_service.data.matrix.ContentFeatureIndex.FeatureKind;
+
+/**
+ * Reads the catalog graph written by movie-service (IN_GENRE, DIRECTED, ACTED_IN)
+ * to build the content feature index, plus the per-user ratings used as its query.
+ */
+@Repository
+public class ContentFeatureRepository {
+
+    @FunctionalInterface
+    public interface FeatureConsumer {
+        void accept(int tmdbId, FeatureKind kind, int featureId, String label);
+    }
+
+    private final Neo4jClient neo4jClient;
+
+    public ContentFeatureRepository(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    /**
+     * Streams every (movie, feature) pair record by record.
+     * Returns the number of pairs streamed.
+     */
+    public long streamFeatures(FeatureConsumer consumer) {
+        return neo4jClient.delegateTo(runner -> {
+            Result result = runner.run(
+                    "MATCH (m:Movie)-[:IN_GENRE]->(g:Genre) " +
+                    "RETURN m.tmdbId AS tmdbId, 'GENRE' AS kind, g.tmdbId AS featureId, g.name AS label " +
+                    "UNION ALL " +
+                    "MATCH (p:Person)-[:DIRECTED]->(m:Movie) " +
+                    "RETURN m.tmdbId AS tmdbId, 'DIRECTOR' AS kind, p.tmdbId AS featureId, p.name AS label " +
+                    "UNION ALL " +
+                    "MATCH (p:Person)-[:ACTED_IN]->(m:Movie) " +
+                    "RETURN m.tmdbId AS tmdbId, 'ACTOR' AS kind, p.tmdbId AS featureId, p.name AS label");
+            long count = 0;
+            while (result.hasNext()) {
+                Record record = result.next();
+                if (record.get("tmdbId").isNull() || record.get("featureId").isNull()) {
+                    continue;
+                }
+                consumer.accept(record.get("tmdbId").asInt(),
+                        FeatureKind.valueOf(record.get("kind").asString()),
+                        record.get("featureId").asInt(),
+                        record.get("label").isNull() ? null : record.get("label").asString());
+                count++;
+            }
+            return Optional.of(count);
+        }).run().orElse(0L);
+    }
+
+    /**
+     * The user's ratings as tmdbId -> score.
+     */
+    public Map<Integer, Integer> findUserRatings(String userId) {
+        Map<Integer, Integer> ratings = new HashMap<>();
+        neo4jClient.query(
+                "MATCH (:User {keycloakId: $userId})-[r:RATED]->(m:Movie) " +
+                "RETURN m.tmdbId AS tmdbId, r.score AS score")
+            .bind(userId).to("userId")
+            .fetch()
+            .all()
+            .forEach(row -> {
+                if (row.get("tmdbId") instanceof Number tmdbId && row.get("score") instanceof Number score) {
+                    ratings.put(tmdbId.intValue(), score.intValue());
+                }
+            });
+        return ratings;
+    }
+}
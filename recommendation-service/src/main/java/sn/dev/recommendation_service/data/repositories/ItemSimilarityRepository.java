@@ -0,0 +1,104 @@
+package sn.dev.recommendation_service.data.repositories;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Storage for the item-item similarity index.
+ *
+ * Each movie's top-K neighbours are stored as (:Movie)-[:SIMILAR_TO {rank, score, coRaters}]->(:Movie),
+ * so "users who liked this also liked" is a single hop. The RATED timestamp up to which the
+ * index is current lives on (:RecommendationState {name: 'item-similarity'}).
+ */
+@Repository
+public class ItemSimilarityRepository {
+
+    private static final String STATE_NAME = "item-similarity";
+
+    private final Neo4jClient neo4jClient;
+
+    public ItemSimilarityRepository(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    public List<Map<String, Object>> findAlsoLiked(Integer tmdbId, int limit) {
+        Collection<Map<String, Object>> results = neo4jClient.query(
+                "MATCH (:Movie {tmdbId: $tmdbId})-[s:SIMILAR_TO]->(rec:Movie) " +
+                "RETURN rec.tmdbId AS tmdbId, rec.title AS title, rec.posterPath AS posterPath, " +
+                "       rec.overview AS overview, rec.voteAverage AS voteAverage, rec.releaseYear AS releaseYear, " +
+                "       [(rec)-[:IN_GENRE]->(g:Genre) | g.name] AS genres, " +
+                "       s.score AS score, s.coRaters AS coRaters " +
+                "ORDER BY s.rank " +
+                "LIMIT $limit")
+            .bind(tmdbId).to("tmdbId")
+            .bind(limit).to("limit")
+            .fetch()
+            .all();
+        return List.copyOf(results);
+    }
+
+    /**
+     * Replaces the SIMILAR_TO relationships of every movie in the batch.
+     * Each row carries tmdbId and neighbours (tmdbId, score, coRaters), best first.
+     * Returns the number of relationships created.
+     */
+    public long replaceNeighbours(List<Map<String, Object>> batch) {
+        return neo4jClient.query(
+                "UNWIND $batch AS row " +
+                "MATCH (m:Movie {tmdbId: row.tmdbId}) " +
+                "CALL { WITH m " +
+                "  OPTIONAL MATCH (m)-[old:SIMILAR_TO]->() " +
+                "  DELETE old } " +
+                "CALL { WITH m, row " +
+                "  UNWIND range(0, size(row.neighbours) - 1) AS i " +
+                "  WITH m, i, row.neighbours[i] AS n " +
+                "  MATCH (other:Movie {tmdbId: n.tmdbId}) " +
+                "  CREATE (m)-[:SIMILAR_TO {rank: i, score: n.score, coRaters: n.coRaters}]->(other) " +
+                "  RETURN count(*) AS created } " +
+                "RETURN sum(created)")
+            .bind(batch).to("batch")
+            .fetchAs(Long.class)
+            .one()
+            .orElse(0L);
+    }
+
+    /**
+     * Movies with a rating created or updated in (since, until].
+     */
+    public List<Integer> findMoviesRatedBetween(ZonedDateTime since, ZonedDateTime until) {
+        return List.copyOf(neo4jClient.query(
+                "MATCH (:User)-[r:RATED]->(m:Movie) " +
+                "WHERE r.timestamp > $since AND r.timestamp <= $until " +
+                "RETURN DISTINCT m.tmdbId")
+            .bind(since).to("since")
+            .bind(until).to("until")
+            .fetchAs(Integer.class)
+            .all());
+    }
+
+    public Optional<ZonedDateTime> findWatermark() {
+        return neo4jClient.query(
+                "MATCH (s:RecommendationState {name: $name}) RETURN s.watermark AS watermark")
+            .bind(STATE_NAME).to("name")
+            .fetchAs(ZonedDateTime.class)
+            .mappedBy((typeSystem, record) -> record.get("watermark").isNull()
+                    ? null
+                    : record.get("watermark").asZonedDateTime())
+            .one();
+    }
+
+    public void saveWatermark(ZonedDateTime watermark) {
+        neo4jClient.query(
+                "MERGE (s:RecommendationState {name: $name}) " +
+                "SET s.watermark = $watermark, s.updatedAt = datetime()")
+            .bind(STATE_NAME).to("name")
+            .bind(watermark).to("watermark")
+            .run();
+    }
+}
@@ -0,0 +1,228 @@
+package sn.dev.recommendation_service.data.repositories;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Storage for precomputed collaborative-filtering results.
+ *
+ * Each user's top-N list is stored as (:User)-[:RECOMMENDED {rank, score, recommenders}]->(:Movie),
+ * so serving recommendations is a single hop from the user node. Bookkeeping lives on the User
+ * (recommendationsComputedAt, recommendationsDirty) and on a (:RecommendationState) node that
+ * holds the (RATED timestamp, elementId) watermark of the incremental refresh.
+ */
+@Repository
+public class PrecomputedRecommendationRepository {
+
+    private static final String STATE_NAME = "collaborative";
+
+    private final Neo4jClient neo4jClient;
+
+    /**
+     * Position of the incremental refresh in (RATED.timestamp, elementId) order. The elementId
+     * breaks ties, so ratings sharing the last processed timestamp are not skipped by the next poll;
+     * an empty ratingId sorts before every rating at that timestamp.
+     */
+    public record Watermark(ZonedDateTime timestamp, String ratingId) {
+    }
+
+    public PrecomputedRecommendationRepository(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    // ==================== READ ====================
+
+    /**
+     * Stored recommendations, best first, skipping movies the user has rated since they were computed.
+     */
+    public List<Map<String, Object>> findRecommended(String userId, int limit) {
+        Collection<Map<String, Object>> results = neo4jClient.query(
+                "MATCH (u:User {keycloakId: $userId})-[r:RECOMMENDED]->(rec:Movie) " +
+                "WHERE NOT EXISTS((u)-[:RATED]->(rec)) " +
+                "RETURN rec.tmdbId AS tmdbId, rec.title AS title, rec.posterPath AS posterPath, " +
+                "       rec.overview AS overview, rec.voteAverage AS voteAverage, rec.releaseYear AS releaseYear, " +
+                "       [(rec)-[:IN_GENRE]->(g:Genre) | g.name] AS genres, " +
+                "       r.score AS score, r.recommenders AS recommenders " +
+                "ORDER BY r.rank " +
+                "LIMIT $limit")
+            .bind(userId).to("userId")
+            .bind(limit).to("limit")
+            .fetch()
+            .all();
+        return List.copyOf(results);
+    }
+
+    public boolean isComputed(String userId) {
+        return neo4jClient.query(
+                "MATCH (u:User {keycloakId: $userId}) " +
+                "RETURN u.recommendationsComputedAt IS NOT NULL")
+            .bind(userId).to("userId")
+            .fetchAs(Boolean.class)
+            .one()
+            .orElse(false);
+    }
+
+    // ==================== RECOMPUTE ====================
+
+    /**
+     * COLLABORATIVE FILTERING (precompute)
+     * Replaces the user's RECOMMENDED relationships with a fresh top-N:
+     * movies rated >= 4 by users who rated >= 4 a movie this user also rated,
+     * ranked by number of such users, then by their average score.
+     *
+     * Returns the number of recommendations stored.
+     */
+    public int recompute(String userId, int topN) {
+        return neo4jClient.query(
+                "MATCH (u:User {keycloakId: $userId}) " +
+                "CALL { WITH u " +
+                "  OPTIONAL MATCH (u)-[old:RECOMMENDED]->() " +
+                "  DELETE old } " +
+                "CALL { WITH u " +
+                "  MATCH (u)-[:RATED]->(m:Movie)<-[r2:RATED]-(other:User) " +
+                "  WHERE other <> u AND r2.score >= 4 " +
+                "  WITH DISTINCT u, other " +
+                "  MATCH (other)-[r3:RATED]->(rec:Movie) " +
+                "  WHERE r3.score >= 4 AND NOT EXISTS((u)-[:RATED]->(rec)) " +
+                "  WITH rec, avg(r3.score) AS score, count(DISTINCT other) AS recommenders " +
+                "  ORDER BY recommenders DESC, score DESC " +
+                "  LIMIT $topN " +
+                "  RETURN collect(rec) AS recs, collect(score) AS scores, collect(recommenders) AS counts } " +
+                "FOREACH (i IN range(0, size(recs) - 1) | " +
+                "  FOREACH (rec IN [recs[i]] | " +
+                "    CREATE (u)-[:RECOMMENDED {rank: i, score: scores[i], recommenders: counts[i]}]->(rec))) " +
+                "SET u.recommendationsComputedAt = datetime() " +
+                "REMOVE u.recommendationsDirty " +
+                "RETURN size(recs)")
+            .bind(userId).to("userId")
+            .bind(topN).to("topN")
+            .fetchAs(Integer.class)
+            .one()
+            .orElse(0);
+    }
+
+    /**
+     * Replaces the user's RECOMMENDED relationships with a list computed elsewhere
+     * (the in-memory rating matrix). Each entry carries tmdbId, score and recommenders; list order is the rank.
+     */
+    public int storeRecommendations(String userId, List<Map<String, Object>> recommendations) {
+        return neo4jClient.query(
+                "MATCH (u:User {keycloakId: $userId}) " +
+                "CALL { WITH u " +
+                "  OPTIONAL MATCH (u)-[old:RECOMMENDED]->() " +
+                "  DELETE old } " +
+                "CALL { WITH u " +
+                "  UNWIND range(0, size($recs) - 1) AS i " +
+                "  WITH u, i, $recs[i] AS rec " +
+                "  MATCH (m:Movie {tmdbId: rec.tmdbId}) " +
+                "  CREATE (u)-[:RECOMMENDED {rank: i, score: rec.score, recommenders: rec.recommenders}]->(m) " +
+                "  RETURN count(*) AS stored } " +
+                "SET u.recommendationsComputedAt = datetime() " +
+                "REMOVE u.recommendationsDirty " +
+                "RETURN stored")
+            .bind(userId).to("userId")
+            .bind(recommendations).to("recs")
+            .fetchAs(Integer.class)
+            .one()
+            .orElse(0);
+    }
+
+    // ==================== INCREMENTAL REFRESH ====================
+
+    public Optional<Watermark> findWatermark() {
+        return neo4jClient.query(
+                "MATCH (s:RecommendationState {name: $name}) " +
+                "RETURN s.watermark AS watermark, coalesce(s.watermarkRatingId, '') AS ratingId")
+            .bind(STATE_NAME).to("name")
+            .fetchAs(Watermark.class)
+            .mappedBy((typeSystem, record) -> record.get("watermark").isNull()
+                    ? null
+                    : new Watermark(record.get("watermark").asZonedDateTime(), record.get("ratingId").asString()))
+            .one();
+    }
+
+    public void saveWatermark(Watermark watermark) {
+        neo4jClient.query(
+                "MERGE (s:RecommendationState {name: $name}) " +
+                "SET s.watermark = $watermark, s.watermarkRatingId = $ratingId, s.updatedAt = datetime()")
+            .bind(STATE_NAME).to("name")
+            .bind(watermark.timestamp()).to("watermark")
+            .bind(watermark.ratingId()).to("ratingId")
+            .run();
+    }
+
+    /**
+     * Marks the users whose recommendations are affected by ratings after the watermark:
+     * the raters themselves and, for movies rated >= 4, up to $fanOut other raters of that movie
+     * (the new rating makes the rater one of their "similar users").
+     *
+     * Only ratings after the watermark and at or before until are processed; a null until means
+     * no upper bound. Processes at most $maxRatings ratings in (timestamp, elementId) order and
+     * returns the position of the last one processed (the next watermark), or empty if there was
+     * nothing new.
+     */
+    public Optional<Watermark> markDirtySince(Watermark watermark, ZonedDateTime until, int maxRatings,
+            int fanOut) {
+        return neo4jClient.query(
+                "MATCH (rater:User)-[r:RATED]->(m:Movie) " +
+                "WHERE (r.timestamp > $watermark " +
+                "       OR (r.timestamp = $watermark AND elementId(r) > $watermarkRatingId)) " +
+                "  AND ($until IS NULL OR r.timestamp <= $until) " +
+                "WITH rater, r, m ORDER BY r.timestamp, elementId(r) LIMIT $maxRatings " +
+                "WITH collect([rater, r, m]) AS rows " +
+                "WITH rows[-1][1] AS last, rows " +
+                "UNWIND rows AS row " +
+                "WITH last, row[0] AS rater, row[1] AS r, row[2] AS m " +
+                "SET rater.recommendationsDirty = true " +
+                "WITH last, m, max(r.score) AS topScore " +
+                "CALL { WITH m, topScore " +
+                "  WITH m WHERE topScore >= 4 " +
+                "  MATCH (m)<-[:RATED]-(peer:User) " +
+                "  WITH peer LIMIT $fanOut " +
+                "  SET peer.recommendationsDirty = true } " +
+                "WITH last, count(m) AS movies " +
+                "RETURN last.timestamp AS watermark, elementId(last) AS ratingId")
+            .bind(watermark.timestamp()).to("watermark")
+            .bind(watermark.ratingId()).to("watermarkRatingId")
+            .bind(until).to("until")
+            .bind(maxRatings).to("maxRatings")
+            .bind(fanOut).to("fanOut")
+            .fetchAs(Watermark.class)
+            .mappedBy((typeSystem, record) ->
+                    new Watermark(record.get("watermark").asZonedDateTime(), record.get("ratingId").asString()))
+            .one();
+    }
+
+    /**
+     * Marks users whose stored list is older than the cutoff, so lists also pick up changes
+     * the incremental pass does not track (deleted ratings, capped fan-out).
+     */
+    public long markDirtyComputedBefore(ZonedDateTime cutoff, int limit) {
+        return neo4jClient.query(
+                "MATCH (u:User) WHERE u.recommendationsComputedAt < $cutoff " +
+                "WITH u LIMIT $limit " +
+                "SET u.recommendationsDirty = true " +
+                "RETURN count(u)")
+            .bind(cutoff).to("cutoff")
+            .bind(limit).to("limit")
+            .fetchAs(Long.class)
+            .one()
+            .orElse(0L);
+    }
+
+    public List<String> findDirtyUsers(int limit) {
+        return List.copyOf(neo4jClient.query(
+                "MATCH (u:User) WHERE u.recommendationsDirty = true " +
+                "RETURN u.keycloakId " +
+                "LIMIT $limit")
+            .bind(limit).to("limit")
+            .fetchAs(String.class)
+            .all());
+    }
+}
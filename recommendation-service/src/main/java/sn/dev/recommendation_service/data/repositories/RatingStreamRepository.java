@@ -0,0 +1,122 @@
+package sn.dev.recommendation_service.data.repositories;
+
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Streams RATED relationships record by record for the in-memory rating matrix.
+ *
+ * Goes through the driver's Result directly instead of fetch().all(), so a full load never
+ * materialises the whole rating set as a list of maps.
+ */
+@Repository
+public class RatingStreamRepository {
+
+    @FunctionalInterface
+    public interface RatingConsumer {
+        void accept(String keycloakId, int tmdbId, int score);
+    }
+
+    @FunctionalInterface
+    public interface RemainingRatingsConsumer {
+        void accept(String keycloakId, Set<Integer> tmdbIds);
+    }
+
+    private final Neo4jClient neo4jClient;
+
+    public RatingStreamRepository(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    public ZonedDateTime currentTime() {
+        return neo4jClient.query("RETURN datetime() AS now")
+            .fetchAs(ZonedDateTime.class)
+            .mappedBy((typeSystem, record) -> record.get("now").asZonedDateTime())
+            .one()
+            .orElseGet(ZonedDateTime::now);
+    }
+
+    /**
+     * Every rating, in whatever order Neo4j finds them. Deliberately unsorted: an ORDER BY would
+     * make the server sort every RATED row before sending the first one, while the matrix builder
+     * groups by ordinal itself.
+     */
+    public long streamAll(RatingConsumer consumer) {
+        return stream(
+                "MATCH (u:User)-[r:RATED]->(m:Movie) " +
+                "RETURN u.keycloakId AS userId, m.tmdbId AS tmdbId, r.score AS score",
+                Map.of(), consumer);
+    }
+
+    /**
+     * Ratings created or updated in (since, until], oldest first.
+     * Returns the number of ratings streamed.
+     */
+    public long streamBetween(ZonedDateTime since, ZonedDateTime until, RatingConsumer consumer) {
+        return stream(
+                "MATCH (u:User)-[r:RATED]->(m:Movie) " +
+                "WHERE r.timestamp > $since AND r.timestamp <= $until " +
+                "RETURN u.keycloakId AS userId, m.tmdbId AS tmdbId, r.score AS score " +
+                "ORDER BY r.timestamp",
+                Map.of("since", since, "until", until), consumer);
+    }
+
+    /**
+     * Users who deleted a rating in (since, until] (rating-service stamps u.ratingsDeletedAt),
+     * each with the tmdbIds they still rate, plus accounts deleted in that window
+     * ((:DeletedUser) tombstones left by user-service), which rate nothing any more.
+     * Returns the number of users streamed.
+     */
+    public long streamDeletionsBetween(ZonedDateTime since, ZonedDateTime until, RemainingRatingsConsumer consumer) {
+        Optional<Long> streamed = neo4jClient.delegateTo(runner -> {
+            Result result = runner.run(
+                    "MATCH (u:User) " +
+                    "WHERE u.ratingsDeletedAt > $since AND u.ratingsDeletedAt <= $until " +
+                    "RETURN u.keycloakId AS userId, [(u)-[:RATED]->(m:Movie) | m.tmdbId] AS tmdbIds " +
+                    "UNION ALL " +
+                    "MATCH (d:DeletedUser) " +
+                    "WHERE d.deletedAt > $since AND d.deletedAt <= $until " +
+                    "RETURN d.keycloakId AS userId, [] AS tmdbIds",
+                    Map.of("since", since, "until", until));
+            long count = 0;
+            while (result.hasNext()) {
+                Record record = result.next();
+                if (record.get("userId").isNull()) {
+                    continue;
+                }
+                Set<Integer> tmdbIds = new HashSet<>(record.get("tmdbIds").asList(value -> value.asInt()));
+                consumer.accept(record.get("userId").asString(), tmdbIds);
+                count++;
+            }
+            return Optional.of(count);
+        }).run();
+        return streamed.orElse(0L);
+    }
+
+    private long stream(String cypher, Map<String, Object> parameters, RatingConsumer consumer) {
+        Optional<Long> streamed = neo4jClient.delegateTo(runner -> {
+            Result result = runner.run(cypher, parameters);
+            long count = 0;
+            while (result.hasNext()) {
+                Record record = result.next();
+                if (record.get("userId").isNull() || record.get("tmdbId").isNull() || record.get("score").isNull()) {
+                    continue;
+                }
+                consumer.accept(record.get("userId").asString(),
+                        record.get("tmdbId").asInt(),
+                        record.get("score").asInt());
+                count++;
+            }
+            return Optional.of(count);
+        }).run();
+        return streamed.orElse(0L);
+    }
+}
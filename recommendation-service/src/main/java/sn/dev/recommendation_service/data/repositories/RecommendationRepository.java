@@ -4,6 +4,7 @@ import org.springframework.data.neo4j.core.Neo4jClient;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,35 +24,6 @@ public class RecommendationRepository {
         this.neo4jClient = neo4jClient;
     }
 
-    /**
-     * COLLABORATIVE FILTERING QUERY
-     * Finds movies rated highly by users who also rated the same movies as 'userId'.
-     * 
-     * Logic:
-     * 1. Find all movies the user has rated
-     * 2. Find other users who also rated those same movies highly (score >= 4)
-     * 3. Get movies those similar users rated highly that our user hasn't seen
-     * 4. Return top 10 sorted by average score
-     */
-    public List<Map<String, Object>> findCollaborativeFiltering(String userId) {
-        Collection<Map<String, Object>> results = neo4jClient.query(
-                "MATCH (u:User {keycloakId: $userId})-[r1:RATED]->(m:Movie)<-[r2:RATED]-(other:User) " +
-                "WHERE other <> u AND r2.score >= 4 " +
-                "WITH u, other, count(m) AS sharedMovies " +
-                "WHERE sharedMovies >= 1 " +
-                "MATCH (other)-[r3:RATED]->(rec:Movie) " +
-                "WHERE r3.score >= 4 AND NOT EXISTS((u)-[:RATED]->(rec)) " +
-                "RETURN rec.tmdbId AS tmdbId, rec.title AS title, rec.posterPath AS posterPath, " +
-                "       rec.overview AS overview, rec.voteAverage AS voteAverage, rec.releaseYear AS releaseYear, " +
-                "       avg(r3.score) AS score, count(DISTINCT other) AS recommenders " +
-                "ORDER BY recommenders DESC, score DESC " +
-                "LIMIT 10")
-            .bind(userId).to("userId")
-            .fetch()
-            .all();
-        return List.copyOf(results);
-    }
-
     /**
      * FIND FAVORITE MOVIE
      * Used to find a "seed" for the TMDB fallback.
@@ -68,6 +40,26 @@ public class RecommendationRepository {
             .orElse(null);
     }
 
+    /**
+     * Display fields for a list of movies, keyed by tmdbId (movies not in the graph are absent).
+     */
+    public Map<Integer, Map<String, Object>> findMovieSummaries(List<Integer> tmdbIds) {
+        Collection<Map<String, Object>> results = neo4jClient.query(
+                "UNWIND $tmdbIds AS tmdbId " +
+                "MATCH (m:Movie {tmdbId: tmdbId}) " +
+                "RETURN m.tmdbId AS tmdbId, m.title AS title, m.posterPath AS posterPath, " +
+                "       m.overview AS overview, m.voteAverage AS voteAverage, m.releaseYear AS releaseYear, " +
+                "       [(m)-[:IN_GENRE]->(g:Genre) | g.name] AS genres")
+            .bind(tmdbIds).to("tmdbIds")
+            .fetch()
+            .all();
+        Map<Integer, Map<String, Object>> byId = new HashMap<>();
+        for (Map<String, Object> row : results) {
+            byId.put(((Number) row.get("tmdbId")).intValue(), row);
+        }
+        return byId;
+    }
+
     // ==================== SHARING RECOMMENDATIONS ====================
 
     /**
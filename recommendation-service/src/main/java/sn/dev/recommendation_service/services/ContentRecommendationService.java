@@ -0,0 +1,20 @@
+package sn.dev.recommendation_service.services;
+
+import java.util.List;
+import java.util.Optional;
+
+import sn.dev.recommendation_service.data.matrix.ContentFeatureIndex.ContentRecommendation;
+
+public interface ContentRecommendationService {
+
+    /**
+     * Content-based top-N from the user's liked movies' genres, directors and cast,
+     * or empty if the feature index is not loaded yet.
+     */
+    Optional<List<ContentRecommendation>> recommend(String userId, int limit);
+
+    /**
+     * Rebuilds the feature index from the catalog graph.
+     */
+    void refresh();
+}
@@ -0,0 +1,10 @@
+package sn.dev.recommendation_service.services;
+
+public interface ItemSimilarityService {
+
+    /**
+     * Recomputes the neighbours of movies rated since the last run,
+     * or of every movie when a full rebuild is due. No-op until the rating matrix is loaded.
+     */
+    void refresh();
+}
@@ -0,0 +1,26 @@
+package sn.dev.recommendation_service.services;
+
+import java.util.List;
+import java.util.Optional;
+
+import sn.dev.recommendation_service.data.matrix.MatrixRecommendation;
+import sn.dev.recommendation_service.data.matrix.RatingMatrixSnapshot;
+
+public interface RatingMatrixService {
+
+    /**
+     * The current snapshot, or empty if the matrix is disabled or not loaded yet.
+     */
+    Optional<RatingMatrixSnapshot> snapshot();
+
+    /**
+     * Collaborative-filtering top-N computed from the in-memory matrix,
+     * or empty if the matrix is not available (callers fall back to Cypher).
+     */
+    Optional<List<MatrixRecommendation>> recommend(String userId, int topN);
+
+    /**
+     * Applies ratings changed since the last refresh, or reloads everything when a rebuild is due.
+     */
+    void refresh();
+}
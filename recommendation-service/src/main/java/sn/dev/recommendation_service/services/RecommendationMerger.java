@@ -0,0 +1,22 @@
+package sn.dev.recommendation_service.services;
+
+import java.util.List;
+
+import sn.dev.recommendation_service.web.dto.RecommendationDTO;
+
+/**
+ * Combines the candidate lists of several recommendation strategies into one ranked list.
+ */
+public interface RecommendationMerger {
+
+    /**
+     * A candidate movie with the strategy's own relevance score (higher is better, any scale).
+     */
+    record Candidate(RecommendationDTO movie, double score) {
+    }
+
+    record StrategyCandidates(String strategy, List<Candidate> candidates) {
+    }
+
+    List<RecommendationDTO> merge(List<StrategyCandidates> strategies, int limit);
+}
@@ -0,0 +1,17 @@
+package sn.dev.recommendation_service.services;
+
+public interface RecommendationPrecomputeService {
+
+    /**
+     * Recomputes and stores one user's collaborative-filtering top-N.
+     * Runs in its own write transaction, so it can be called from read-only request handling.
+     * Returns the number of recommendations stored.
+     */
+    int recompute(String userId);
+
+    /**
+     * Incremental refresh: marks the users affected by ratings since the last run
+     * (plus lists older than the configured max age) and recomputes a batch of them.
+     */
+    void refreshAffectedUsers();
+}
@@ -1,6 +1,7 @@
 package sn.dev.recommendation_service.services;
 
 import sn.dev.recommendation_service.web.dto.RecommendationDTO;
+import sn.dev.recommendation_service.web.dto.RecommendationResultDTO;
 import sn.dev.recommendation_service.web.dto.ShareRequestDTO;
 import sn.dev.recommendation_service.web.dto.SharedRecommendationDTO;
 
@@ -11,9 +12,16 @@ public interface RecommendationService {
     /**
      * Generates a list of recommendations for the user.
      * 1. Tries Collaborative Filtering (Neo4j).
-     * 2. Falls back to Movie Service (Content-based) if needed.
+     * 2. Fills up with content-based matches (genres, directors, cast) from the in-memory index.
+     * 3. Falls back to Movie Service (TMDB similar) if needed.
+     * The strategies run concurrently under a latency budget; the result lists the ones that did not finish.
      */
-    List<RecommendationDTO> getRecommendations(String userId);
+    RecommendationResultDTO getRecommendations(String userId);
+
+    /**
+     * "Users who liked this also liked": the movie's nearest neighbours in the item-item similarity index.
+     */
+    List<RecommendationDTO> getAlsoLiked(Integer tmdbId, int limit);
 
     /**
      * Share a movie recommendation with another user.
@@ -0,0 +1,87 @@
+package sn.dev.recommendation_service.services.impl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import sn.dev.recommendation_service.data.matrix.ContentFeatureIndex;
+import sn.dev.recommendation_service.data.matrix.ContentFeatureIndex.ContentRecommendation;
+import sn.dev.recommendation_service.data.repositories.ContentFeatureRepository;
+import sn.dev.recommendation_service.services.ContentRecommendationService;
+
+/**
+ * Keeps the content feature index in memory and answers content-based queries from it.
+ *
+ * The catalog changes slowly (bulk imports, admin edits), so the index is simply rebuilt
+ * in full every refresh-interval and swapped through a volatile field.
+ */
+@Service
+public class ContentRecommendationServiceImpl implements ContentRecommendationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentRecommendationServiceImpl.class);
+
+    private final ContentFeatureRepository repository;
+    private final int maxTasteFeatures;
+    private final Timer buildTimer;
+
+    private volatile ContentFeatureIndex index;
+
+    public ContentRecommendationServiceImpl(ContentFeatureRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${recommendations.content.max-taste-features:50}") int maxTasteFeatures) {
+        this.repository = repository;
+        this.maxTasteFeatures = maxTasteFeatures;
+        this.buildTimer = Timer.builder("recommendations.content.build")
+                .description("Time to rebuild the content feature index")
+                .register(meterRegistry);
+        Gauge.builder("recommendations.content.features", this, s -> s.index == null ? 0 : s.index.entryCount())
+                .description("(movie, feature) entries in the content feature index")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<List<ContentRecommendation>> recommend(String userId, int limit) {
+        ContentFeatureIndex current = index;
+        if (current == null) {
+            return Optional.empty();
+        }
+        Map<Integer, Integer> ratings = repository.findUserRatings(userId);
+        return Optional.of(current.recommend(ratings, limit, maxTasteFeatures));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread.ofPlatform().name("content-index-load").daemon().start(this::refresh);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${recommendations.content.refresh-interval:1h}",
+            initialDelayString = "${recommendations.content.refresh-interval:1h}")
+    public synchronized void refresh() {
+        try {
+            long started = System.nanoTime();
+            ContentFeatureIndex.Builder builder = new ContentFeatureIndex.Builder();
+            repository.streamFeatures(builder::add);
+            ContentFeatureIndex built = builder.build();
+            buildTimer.record(Duration.ofNanos(System.nanoTime() - started));
+
+            index = built;
+            log.info("Content feature index built: {} movies, {} features, {} entries",
+                    built.movieCount(), built.featureCount(), built.entryCount());
+        } catch (RuntimeException e) {
+            log.error("Content feature index build failed: {}", e.getMessage(), e);
+        }
+    }
+}
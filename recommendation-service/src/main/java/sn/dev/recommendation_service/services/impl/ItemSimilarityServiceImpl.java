@@ -0,0 +1,130 @@
+package sn.dev.recommendation_service.services.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import sn.dev.recommendation_service.data.matrix.ItemSimilarity;
+import sn.dev.recommendation_service.data.matrix.ItemSimilarity.MovieNeighbours;
+import sn.dev.recommendation_service.data.matrix.RatingMatrixSnapshot;
+import sn.dev.recommendation_service.data.repositories.ItemSimilarityRepository;
+import sn.dev.recommendation_service.services.ItemSimilarityService;
+import sn.dev.recommendation_service.services.RatingMatrixService;
+
+/**
+ * Builds the SIMILAR_TO index from the in-memory rating matrix.
+ *
+ * - full rebuild: every movie, on startup and every rebuild-interval;
+ * - incremental: only movies rated since the stored watermark. Their neighbours' own lists
+ *   are not touched, so small asymmetries remain until the next full rebuild.
+ *
+ * Similarities are computed on a dedicated fork/join pool and written in batches of write-batch-size movies.
+ */
+@Service
+public class ItemSimilarityServiceImpl implements ItemSimilarityService {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemSimilarityServiceImpl.class);
+
+    private final ItemSimilarityRepository repository;
+    private final RatingMatrixService ratingMatrixService;
+    private final int k;
+    private final int minCoRaters;
+    private final int writeBatchSize;
+    private final Duration rebuildInterval;
+    private final ForkJoinPool pool;
+    private final Timer computeTimer;
+
+    private Instant lastFullBuild = Instant.EPOCH;
+
+    public ItemSimilarityServiceImpl(ItemSimilarityRepository repository,
+            RatingMatrixService ratingMatrixService,
+            MeterRegistry meterRegistry,
+            @Value("${recommendations.similarity.top-k:20}") int k,
+            @Value("${recommendations.similarity.min-co-raters:3}") int minCoRaters,
+            @Value("${recommendations.similarity.write-batch-size:500}") int writeBatchSize,
+            @Value("${recommendations.similarity.rebuild-interval:24h}") Duration rebuildInterval,
+            @Value("${recommendations.similarity.parallelism:0}") int parallelism) {
+        this.repository = repository;
+        this.ratingMatrixService = ratingMatrixService;
+        this.k = k;
+        this.minCoRaters = minCoRaters;
+        this.writeBatchSize = writeBatchSize;
+        this.rebuildInterval = rebuildInterval;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.computeTimer = Timer.builder("recommendations.similarity.compute")
+                .description("Time to compute item-item similarities for one refresh")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${recommendations.similarity.refresh-interval:15m}",
+            initialDelayString = "${recommendations.similarity.initial-delay:2m}")
+    public synchronized void refresh() {
+        Optional<RatingMatrixSnapshot> current = ratingMatrixService.snapshot();
+        if (current.isEmpty()) {
+            return;
+        }
+        RatingMatrixSnapshot snapshot = current.get();
+        try {
+            ZonedDateTime watermark = repository.findWatermark().orElse(null);
+            boolean rebuildDue = Instant.now().isAfter(lastFullBuild.plus(rebuildInterval));
+
+            List<MovieNeighbours> results;
+            long started = System.nanoTime();
+            if (watermark == null || rebuildDue) {
+                results = ItemSimilarity.computeAll(snapshot, k, minCoRaters, pool);
+                lastFullBuild = Instant.now();
+            } else {
+                List<Integer> changed = repository.findMoviesRatedBetween(watermark, snapshot.watermark());
+                if (changed.isEmpty()) {
+                    return;
+                }
+                results = ItemSimilarity.compute(snapshot, changed, k, minCoRaters, pool);
+            }
+            computeTimer.record(Duration.ofNanos(System.nanoTime() - started));
+
+            long stored = 0;
+            for (int from = 0; from < results.size(); from += writeBatchSize) {
+                List<MovieNeighbours> chunk = results.subList(from, Math.min(from + writeBatchSize, results.size()));
+                stored += repository.replaceNeighbours(toRows(chunk));
+            }
+            repository.saveWatermark(snapshot.watermark());
+            log.info("Item similarity index updated: {} movies, {} SIMILAR_TO relationships", results.size(), stored);
+        } catch (RuntimeException e) {
+            log.error("Item similarity refresh failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private static List<Map<String, Object>> toRows(List<MovieNeighbours> chunk) {
+        List<Map<String, Object>> rows = new ArrayList<>(chunk.size());
+        for (MovieNeighbours movie : chunk) {
+            List<Map<String, Object>> neighbours = movie.neighbours().stream()
+                    .map(n -> Map.<String, Object>of(
+                            "tmdbId", n.tmdbId(),
+                            "score", n.similarity(),
+                            "coRaters", n.coRaters()))
+                    .toList();
+            rows.add(Map.of("tmdbId", movie.tmdbId(), "neighbours", neighbours));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,141 @@
+package sn.dev.recommendation_service.services.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import sn.dev.recommendation_service.data.matrix.MatrixRecommendation;
+import sn.dev.recommendation_service.data.matrix.RatingMatrixSnapshot;
+import sn.dev.recommendation_service.data.repositories.RatingStreamRepository;
+import sn.dev.recommendation_service.services.RatingMatrixService;
+
+/**
+ * Keeps every rating in memory as a compressed sparse matrix so collaborative filtering
+ * does not have to walk the graph for each user.
+ *
+ * - full load: streams all RATED relationships into a new base matrix (rows and columns);
+ * - delta: every delta-interval, ratings changed since the watermark go into a small sorted
+ *   overlay on top of the base; users who deleted a rating or their account since then get
+ *   tombstones for the ratings they no longer have;
+ * - the next full load folds the overlay back in, either on rebuild-interval or once the
+ *   overlay grows past max-delta.
+ *
+ * Snapshots are immutable and swapped through a volatile field, so readers never lock.
+ */
+@Service
+public class RatingMatrixServiceImpl implements RatingMatrixService {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingMatrixServiceImpl.class);
+
+    private final RatingStreamRepository repository;
+    private final boolean enabled;
+    private final Duration rebuildInterval;
+    private final int maxDelta;
+    private final Timer loadTimer;
+
+    private volatile RatingMatrixSnapshot snapshot;
+    private Instant lastFullLoad = Instant.EPOCH;
+
+    public RatingMatrixServiceImpl(RatingStreamRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${recommendations.matrix.enabled:true}") boolean enabled,
+            @Value("${recommendations.matrix.rebuild-interval:6h}") Duration rebuildInterval,
+            @Value("${recommendations.matrix.max-delta:200000}") int maxDelta) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.rebuildInterval = rebuildInterval;
+        this.maxDelta = maxDelta;
+        this.loadTimer = Timer.builder("recommendations.matrix.load")
+                .description("Time to stream all ratings into a new matrix")
+                .register(meterRegistry);
+        Gauge.builder("recommendations.matrix.ratings", this,
+                        s -> s.snapshot == null ? 0 : s.snapshot.baseRatings() + s.snapshot.overlayRatings())
+                .description("Ratings held by the in-memory matrix (base + overlay)")
+                .register(meterRegistry);
+        Gauge.builder("recommendations.matrix.bytes", this,
+                        s -> s.snapshot == null ? 0 : s.snapshot.estimatedBytes())
+                .description("Estimated heap used by the in-memory matrix")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<RatingMatrixSnapshot> snapshot() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    @Override
+    public Optional<List<MatrixRecommendation>> recommend(String userId, int topN) {
+        RatingMatrixSnapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+        return Optional.of(current.recommend(userId, topN));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            Thread.ofPlatform().name("rating-matrix-load").daemon().start(this::refresh);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${recommendations.matrix.delta-interval:10s}",
+            initialDelayString = "${recommendations.matrix.delta-interval:10s}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            RatingMatrixSnapshot current = snapshot;
+            boolean rebuildDue = Instant.now().isAfter(lastFullLoad.plus(rebuildInterval));
+            if (current == null || rebuildDue || current.overlayRatings() > maxDelta) {
+                fullLoad();
+            } else {
+                applyDelta(current);
+            }
+        } catch (RuntimeException e) {
+            log.error("Rating matrix refresh failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void fullLoad() {
+        // Take the watermark before reading so ratings written during the load are picked up by the next delta
+        ZonedDateTime watermark = repository.currentTime();
+        RatingMatrixSnapshot.Loader loader = new RatingMatrixSnapshot.Loader();
+        long started = System.nanoTime();
+        long count = repository.streamAll(loader::add);
+        RatingMatrixSnapshot loaded = loader.build(watermark);
+        loadTimer.record(Duration.ofNanos(System.nanoTime() - started));
+
+        snapshot = loaded;
+        lastFullLoad = Instant.now();
+        log.info("Rating matrix loaded: {} ratings, ~{} MB", count, loaded.estimatedBytes() / (1024 * 1024));
+    }
+
+    private void applyDelta(RatingMatrixSnapshot current) {
+        ZonedDateTime until = repository.currentTime();
+        RatingMatrixSnapshot.Delta delta = current.delta();
+        // Deletions first, so a rating deleted and re-added in the same window ends up present
+        long pruned = repository.streamDeletionsBetween(current.watermark(), until, delta::retainOnly);
+        long count = repository.streamBetween(current.watermark(), until, delta::add);
+        snapshot = delta.apply(until);
+        if (count > 0 || pruned > 0) {
+            log.debug("Rating matrix: applied {} changed ratings, pruned deletions of {} users", count, pruned);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package sn.dev.recommendation_service.services.impl;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import sn.dev.recommendation_service.data.matrix.MatrixRecommendation;
+import sn.dev.recommendation_service.data.matrix.RatingMatrixSnapshot;
+import sn.dev.recommendation_service.data.repositories.PrecomputedRecommendationRepository;
+import sn.dev.recommendation_service.data.repositories.PrecomputedRecommendationRepository.Watermark;
+import sn.dev.recommendation_service.services.RatingMatrixService;
+import sn.dev.recommendation_service.services.RecommendationPrecomputeService;
+
+/**
+ * Background engine that keeps the RECOMMENDED relationships up to date.
+ *
+ * Every poll:
+ * 1. ratings after the (timestamp, elementId) watermark mark their rater (and, for high scores,
+ *    other raters of the same movie) as dirty, and the watermark moves forward. While the rating matrix is
+ *    loaded, only ratings it already holds are taken (up to its own watermark): the rest are
+ *    left for a later poll, so a user is never recomputed and cleared without their new rating;
+ * 2. lists older than max-age are marked dirty as a safety net;
+ * 3. up to batch-size dirty users are recomputed, one short transaction each.
+ *
+ * Recomputation uses the in-memory rating matrix when it is loaded (only the write goes to Neo4j),
+ * and the collaborative-filtering Cypher query otherwise.
+ *
+ * Users who have never been computed are handled on their first GET /api/recommendations.
+ */
+@Service
+public class RecommendationPrecomputeServiceImpl implements RecommendationPrecomputeService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationPrecomputeServiceImpl.class);
+
+    private final PrecomputedRecommendationRepository repository;
+    private final RatingMatrixService ratingMatrixService;
+    private final int topN;
+    private final int batchSize;
+    private final int maxRatingsPerPoll;
+    private final int fanOut;
+    private final Duration maxAge;
+
+    private final Counter recomputedCounter;
+    private final Timer recomputeTimer;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    public RecommendationPrecomputeServiceImpl(PrecomputedRecommendationRepository repository,
+            RatingMatrixService ratingMatrixService,
+            MeterRegistry meterRegistry,
+            @Value("${recommendations.precompute.top-n:100}") int topN,
+            @Value("${recommendations.precompute.batch-size:200}") int batchSize,
+            @Value("${recommendations.precompute.max-ratings-per-poll:1000}") int maxRatingsPerPoll,
+            @Value("${recommendations.precompute.fan-out:500}") int fanOut,
+            @Value("${recommendations.precompute.max-age:24h}") Duration maxAge) {
+        this.repository = repository;
+        this.ratingMatrixService = ratingMatrixService;
+        this.topN = topN;
+        this.batchSize = batchSize;
+        this.maxRatingsPerPoll = maxRatingsPerPoll;
+        this.fanOut = fanOut;
+        this.maxAge = maxAge;
+        this.recomputedCounter = meterRegistry.counter("recommendations.precompute.users");
+        this.recomputeTimer = Timer.builder("recommendations.precompute.user")
+                .description("Time to recompute and store one user's recommendations")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int recompute(String userId) {
+        int stored = recomputeTimer.record(() -> recomputeUser(userId));
+        recomputedCounter.increment();
+        return stored;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${recommendations.precompute.poll-interval:30s}",
+            initialDelayString = "${recommendations.precompute.poll-interval:30s}")
+    public void refreshAffectedUsers() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Watermark watermark = repository.findWatermark().orElse(null);
+            if (watermark == null) {
+                // First run: start tracking from now; existing users are computed lazily or by max-age
+                repository.saveWatermark(new Watermark(ZonedDateTime.now(), ""));
+            } else {
+                ZonedDateTime until = ratingMatrixService.snapshot()
+                        .map(RatingMatrixSnapshot::watermark)
+                        .orElse(null);
+                repository.markDirtySince(watermark, until, maxRatingsPerPoll, fanOut)
+                        .ifPresent(repository::saveWatermark);
+            }
+
+            repository.markDirtyComputedBefore(ZonedDateTime.now().minus(maxAge), batchSize);
+
+            List<String> dirtyUsers = repository.findDirtyUsers(batchSize);
+            for (String userId : dirtyUsers) {
+                try {
+                    recomputeTimer.record(() -> recomputeUser(userId));
+                    recomputedCounter.increment();
+                } catch (RuntimeException e) {
+                    log.warn("Failed to recompute recommendations for {}: {}", userId, e.getMessage());
+                }
+            }
+
+            if (!dirtyUsers.isEmpty()) {
+                log.debug("Recomputed recommendations for {} users", dirtyUsers.size());
+            }
+        } catch (RuntimeException e) {
+            log.error("Recommendation refresh failed: {}", e.getMessage(), e);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private int recomputeUser(String userId) {
+        Optional<List<MatrixRecommendation>> fromMatrix = ratingMatrixService.recommend(userId, topN);
+        if (fromMatrix.isEmpty()) {
+            return repository.recompute(userId, topN);
+        }
+        List<Map<String, Object>> recommendations = fromMatrix.get().stream()
+                .map(rec -> Map.<String, Object>of(
+                        "tmdbId", rec.tmdbId(),
+                        "score", rec.score(),
+                        "recommenders", rec.recommenders()))
+                .toList();
+        return repository.storeRecommendations(userId, recommendations);
+    }
+}
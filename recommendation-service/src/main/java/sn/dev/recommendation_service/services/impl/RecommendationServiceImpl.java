@@ -2,8 +2,10 @@ package sn.dev.recommendation_service.services.impl;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -13,13 +15,22 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
+import sn.dev.recommendation_service.data.matrix.ContentFeatureIndex.ContentRecommendation;
+import sn.dev.recommendation_service.data.repositories.ItemSimilarityRepository;
+import sn.dev.recommendation_service.data.repositories.PrecomputedRecommendationRepository;
 import sn.dev.recommendation_service.data.repositories.RecommendationRepository;
 import sn.dev.recommendation_service.exceptions.BadRequestException;
 import sn.dev.recommendation_service.exceptions.ConflictException;
 import sn.dev.recommendation_service.exceptions.NotFoundException;
+import sn.dev.recommendation_service.services.ContentRecommendationService;
+import sn.dev.recommendation_service.services.RecommendationPrecomputeService;
+import sn.dev.recommendation_service.services.RecommendationMerger;
+import sn.dev.recommendation_service.services.RecommendationMerger.Candidate;
+import sn.dev.recommendation_service.services.RecommendationMerger.StrategyCandidates;
 import sn.dev.recommendation_service.services.RecommendationService;
 import sn.dev.recommendation_service.web.dto.MovieSummaryDTO;
 import sn.dev.recommendation_service.web.dto.RecommendationDTO;
+import sn.dev.recommendation_service.web.dto.RecommendationResultDTO;
 import sn.dev.recommendation_service.web.dto.ShareRequestDTO;
 import sn.dev.recommendation_service.web.dto.SharedRecommendationDTO;
 
@@ -27,61 +38,153 @@ import sn.dev.recommendation_service.web.dto.SharedRecommendationDTO;
 @RequiredArgsConstructor
 public class RecommendationServiceImpl implements RecommendationService {
 
+    private static final String STRATEGY_COLLABORATIVE = "collaborative";
+    private static final String STRATEGY_CONTENT = "content";
+    private static final String STRATEGY_TMDB = "tmdb-similar";
+
+    private static final int RESULT_SIZE = 10;
+    // Each strategy contributes a wide pool so blending and diversity have room to work
+    private static final int CANDIDATES_PER_STRATEGY = 100;
+
     private final RecommendationRepository recommendationRepository;
+    private final PrecomputedRecommendationRepository precomputedRepository;
+    private final ItemSimilarityRepository itemSimilarityRepository;
+    private final RecommendationPrecomputeService precomputeService;
+    private final ContentRecommendationService contentRecommendationService;
+    private final StrategyRunner strategyRunner;
+    private final RecommendationMerger recommendationMerger;
     private final WebClient webClient;
 
+    /**
+     * Not @Transactional: the strategies run on their own threads, each query in its own
+     * auto-commit transaction, and the CF first-visit recompute opens its own write transaction.
+     */
     @Override
-    @Transactional(readOnly = true)
-    public List<RecommendationDTO> getRecommendations(String userId) {
+    public RecommendationResultDTO getRecommendations(String userId) {
+        Map<String, Callable<List<Candidate>>> strategies = new LinkedHashMap<>();
+        strategies.put(STRATEGY_COLLABORATIVE, () -> collaborativeFiltering(userId));
+        strategies.put(STRATEGY_CONTENT, () -> contentBased(userId));
+        strategies.put(STRATEGY_TMDB, () -> similarToFavorite(userId));
 
-        List<RecommendationDTO> allRecommendations = new ArrayList<>();
+        List<StrategyCandidates> completed = new ArrayList<>();
+        List<String> incomplete = new ArrayList<>();
+        for (StrategyRunner.Outcome<List<Candidate>> outcome : strategyRunner.runAll(strategies)) {
+            if (outcome.succeeded()) {
+                completed.add(new StrategyCandidates(outcome.strategy(), outcome.value()));
+            } else {
+                incomplete.add(outcome.strategy());
+            }
+        }
+
+        return new RecommendationResultDTO(recommendationMerger.merge(completed, RESULT_SIZE), incomplete);
+    }
 
-        // --- STRATEGY 1: COLLABORATIVE FILTERING (Neo4j) ---
-        List<Map<String, Object>> cfResults = recommendationRepository.findCollaborativeFiltering(userId);
+    // --- STRATEGY 1: COLLABORATIVE FILTERING (precomputed RECOMMENDED relationships) ---
+    private List<Candidate> collaborativeFiltering(String userId) {
+        List<Map<String, Object>> cfResults = precomputedRepository.findRecommended(userId, CANDIDATES_PER_STRATEGY);
+        if (cfResults.isEmpty() && !precomputedRepository.isComputed(userId)) {
+            // First visit: compute once now; afterwards the background refresh keeps it current
+            precomputeService.recompute(userId);
+            cfResults = precomputedRepository.findRecommended(userId, CANDIDATES_PER_STRATEGY);
+        }
 
+        List<Candidate> candidates = new ArrayList<>(cfResults.size());
         for (Map<String, Object> movie : cfResults) {
-            allRecommendations.add(RecommendationDTO.builder()
+            RecommendationDTO dto = RecommendationDTO.builder()
                     .tmdbId(toInteger(movie.get("tmdbId")))
                     .title((String) movie.get("title"))
                     .overview((String) movie.get("overview"))
                     .voteAverage((Double) movie.get("voteAverage"))
                     .posterPath((String) movie.get("posterPath"))
                     .releaseYear(toInteger(movie.get("releaseYear")))
+                    .genres(toStringList(movie.get("genres")))
                     .reason("Popular with similar users")
-                    .build());
+                    .build();
+            // Same order as the CF ranking: recommenders first, average score (<= 5) as tie-break
+            double score = toDouble(movie.get("recommenders")) + toDouble(movie.get("score")) / 5.0;
+            candidates.add(new Candidate(dto, score));
+        }
+        return candidates;
+    }
+
+    // --- STRATEGY 2: CONTENT-BASED (genres, directors, cast of liked movies) ---
+    private List<Candidate> contentBased(String userId) {
+        List<ContentRecommendation> contentResults = contentRecommendationService
+                .recommend(userId, CANDIDATES_PER_STRATEGY)
+                .orElse(List.of());
+        if (contentResults.isEmpty()) {
+            return List.of();
         }
+        Map<Integer, Map<String, Object>> movies = recommendationRepository.findMovieSummaries(
+                contentResults.stream().map(ContentRecommendation::tmdbId).toList());
 
-        // --- STRATEGY 2: FALLBACK TO MOVIE SERVICE ---
-        // If Neo4j returns fewer than 10 results, or 0 (Cold Start)
-        if (allRecommendations.size() < 10) {
-            // 1. Find a seed movie (The user's favorite)
-            Map<String, Object> favorite = recommendationRepository.findFavoriteMovie(userId);
-
-            if (favorite != null) {
-                Integer favoriteTmdbId = toInteger(favorite.get("tmdbId"));
-
-                // 2. Call Movie Service via WebClient
-                List<MovieSummaryDTO> similarFromMovieService = fetchSimilarFromMovieService(favoriteTmdbId);
-
-                // 3. Merge and Deduplicate
-                for (MovieSummaryDTO dto : similarFromMovieService) {
-                    if (allRecommendations.stream().noneMatch(r -> r.getTmdbId().equals(dto.getTmdbId()))) {
-                        allRecommendations.add(RecommendationDTO.builder()
-                                .tmdbId(dto.getTmdbId())
-                                .title(dto.getTitle())
-                                .overview(dto.getOverview())
-                                .voteAverage(dto.getVoteAverage())
-                                .posterPath(dto.getPosterPath())
-                                .releaseYear(dto.getReleaseYear())
-                                .reason("Similar to your favorite movie")
-                                .build());
-                    }
-                }
+        List<Candidate> candidates = new ArrayList<>(contentResults.size());
+        for (ContentRecommendation rec : contentResults) {
+            Map<String, Object> movie = movies.get(rec.tmdbId());
+            if (movie == null) {
+                continue;
             }
+            RecommendationDTO dto = RecommendationDTO.builder()
+                    .tmdbId(rec.tmdbId())
+                    .title((String) movie.get("title"))
+                    .overview((String) movie.get("overview"))
+                    .voteAverage((Double) movie.get("voteAverage"))
+                    .posterPath((String) movie.get("posterPath"))
+                    .releaseYear(toInteger(movie.get("releaseYear")))
+                    .genres(toStringList(movie.get("genres")))
+                    .reason(rec.reason())
+                    .build();
+            candidates.add(new Candidate(dto, rec.score()));
         }
+        return candidates;
+    }
 
-        return allRecommendations;
+    // --- STRATEGY 3: FALLBACK TO MOVIE SERVICE ---
+    // Started together with the others so its network round-trip overlaps them;
+    // it has the lowest merge weight, so it mostly fills what CF and content-based left empty.
+    private List<Candidate> similarToFavorite(String userId) {
+        // 1. Find a seed movie (The user's favorite)
+        Map<String, Object> favorite = recommendationRepository.findFavoriteMovie(userId);
+        if (favorite == null) {
+            return List.of();
+        }
+        Integer favoriteTmdbId = toInteger(favorite.get("tmdbId"));
+
+        // 2. Call Movie Service via WebClient; TMDB returns them most similar first
+        List<MovieSummaryDTO> similar = fetchSimilarFromMovieService(favoriteTmdbId);
+        List<Candidate> candidates = new ArrayList<>(similar.size());
+        for (int rank = 0; rank < similar.size(); rank++) {
+            MovieSummaryDTO dto = similar.get(rank);
+            RecommendationDTO recommendation = RecommendationDTO.builder()
+                    .tmdbId(dto.getTmdbId())
+                    .title(dto.getTitle())
+                    .overview(dto.getOverview())
+                    .voteAverage(dto.getVoteAverage())
+                    .posterPath(dto.getPosterPath())
+                    .releaseYear(dto.getReleaseYear())
+                    .genres(dto.getGenres())
+                    .reason("Similar to your favorite movie")
+                    .build();
+            candidates.add(new Candidate(recommendation, 1.0 / (1 + rank)));
+        }
+        return candidates;
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecommendationDTO> getAlsoLiked(Integer tmdbId, int limit) {
+        return itemSimilarityRepository.findAlsoLiked(tmdbId, limit).stream()
+                .map(movie -> RecommendationDTO.builder()
+                        .tmdbId(toInteger(movie.get("tmdbId")))
+                        .title((String) movie.get("title"))
+                        .overview((String) movie.get("overview"))
+                        .voteAverage((Double) movie.get("voteAverage"))
+                        .posterPath((String) movie.get("posterPath"))
+                        .releaseYear(toInteger(movie.get("releaseYear")))
+                        .genres(toStringList(movie.get("genres")))
+                        .reason("Users who liked this also liked")
+                        .build())
+                .toList();
     }
 
     private List<MovieSummaryDTO> fetchSimilarFromMovieService(Integer tmdbId) {
@@ -94,6 +197,15 @@ public class RecommendationServiceImpl implements RecommendationService {
                 .block();
     }
 
+    private double toDouble(Object value) {
+        return value instanceof Number n ? n.doubleValue() : 0.0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> toStringList(Object value) {
+        return value instanceof List<?> list ? (List<String>) list : null;
+    }
+
     // Helper to safely convert Neo4j Long to Integer
     private Integer toInteger(Object value) {
         if (value instanceof Long l) {
@@ -0,0 +1,115 @@
+package sn.dev.recommendation_service.services.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs independent recommendation strategies concurrently under one latency budget.
+ *
+ * All strategies start at once; the caller waits at most the budget in total, and any
+ * strategy still running at the deadline is cancelled and reported as TIMEOUT. Each call is
+ * timed in recommendations.strategy (tags: strategy, outcome) with a percentile histogram.
+ */
+@Component
+public class StrategyRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StrategyRunner.class);
+
+    public enum Status {
+        SUCCESS, FAILED, TIMEOUT
+    }
+
+    public record Outcome<T>(String strategy, Status status, T value, Duration elapsed) {
+
+        public boolean succeeded() {
+            return status == Status.SUCCESS;
+        }
+    }
+
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+    private final Duration budget;
+
+    public StrategyRunner(@Qualifier("recommendationStrategyExecutor") ExecutorService executor,
+            MeterRegistry meterRegistry,
+            @Value("${recommendations.strategy.budget:800ms}") Duration budget) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+    }
+
+    /**
+     * Runs every strategy and returns one outcome per strategy, in the map's iteration order.
+     */
+    public <T> List<Outcome<T>> runAll(Map<String, Callable<T>> strategies) {
+        long started = System.nanoTime();
+        long deadline = started + budget.toNanos();
+
+        Map<String, Long> finishedAt = new ConcurrentHashMap<>();
+        Map<String, Future<T>> futures = new LinkedHashMap<>();
+        strategies.forEach((name, strategy) -> futures.put(name, executor.submit(() -> {
+            try {
+                return strategy.call();
+            } finally {
+                finishedAt.put(name, System.nanoTime());
+            }
+        })));
+
+        List<Outcome<T>> outcomes = new ArrayList<>(futures.size());
+        for (Map.Entry<String, Future<T>> entry : futures.entrySet()) {
+            String name = entry.getKey();
+            Future<T> future = entry.getValue();
+            Status status;
+            T value = null;
+            try {
+                value = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                status = Status.SUCCESS;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                status = Status.TIMEOUT;
+                log.warn("Recommendation strategy '{}' exceeded the {} ms budget", name, budget.toMillis());
+            } catch (ExecutionException e) {
+                status = Status.FAILED;
+                log.warn("Recommendation strategy '{}' failed: {}", name, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.values().forEach(f -> f.cancel(true));
+                status = Status.TIMEOUT;
+            }
+            // Completed strategies report when they actually finished, not when they were collected
+            long finished = status == Status.TIMEOUT ? System.nanoTime() : finishedAt.getOrDefault(name, System.nanoTime());
+            Duration elapsed = Duration.ofNanos(finished - started);
+            timer(name, status).record(elapsed);
+            outcomes.add(new Outcome<>(name, status, value, elapsed));
+        }
+        return outcomes;
+    }
+
+    private Timer timer(String strategy, Status status) {
+        return Timer.builder("recommendations.strategy")
+                .description("Time until a recommendation strategy completed, failed or hit the budget")
+                .tag("strategy", strategy)
+                .tag("outcome", status.name().toLowerCase())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,135 @@
+package sn.dev.recommendation_service.services.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import sn.dev.recommendation_service.services.RecommendationMerger;
+import sn.dev.recommendation_service.web.dto.RecommendationDTO;
+
+/**
+ * Default merge stage:
+ * 1. each strategy's scores are scaled to [0, 1] by its best candidate, then multiplied by the
+ *    strategy weight; a movie found by several strategies sums its contributions
+ *    (one hash lookup per candidate, so hundreds of candidates per strategy stay cheap);
+ * 2. the list is picked greedily: every pick multiplies the score of the remaining candidates
+ *    by diversity-decay for each time their most represented genre has already been picked,
+ *    so one genre cannot fill the whole list.
+ *
+ * The reason shown is the one from the strategy that contributed most to the movie's score.
+ */
+@Service
+public class WeightedDiversityMerger implements RecommendationMerger {
+
+    private final Map<String, Double> weights;
+    private final double diversityDecay;
+
+    public WeightedDiversityMerger(
+            @Value("${recommendations.merge.weight.collaborative:1.0}") double collaborativeWeight,
+            @Value("${recommendations.merge.weight.content:0.7}") double contentWeight,
+            @Value("${recommendations.merge.weight.tmdb-similar:0.4}") double tmdbWeight,
+            @Value("${recommendations.merge.diversity-decay:0.8}") double diversityDecay) {
+        this.weights = Map.of(
+                "collaborative", collaborativeWeight,
+                "content", contentWeight,
+                "tmdb-similar", tmdbWeight);
+        this.diversityDecay = diversityDecay;
+    }
+
+    @Override
+    public List<RecommendationDTO> merge(List<StrategyCandidates> strategies, int limit) {
+        // 1. Hash dedup + weighted blending
+        Map<Integer, Blended> byMovie = new HashMap<>();
+        for (StrategyCandidates strategy : strategies) {
+            double weight = weights.getOrDefault(strategy.strategy(), 0.5);
+            double best = 0;
+            for (Candidate candidate : strategy.candidates()) {
+                best = Math.max(best, candidate.score());
+            }
+            for (Candidate candidate : strategy.candidates()) {
+                Integer tmdbId = candidate.movie().getTmdbId();
+                if (tmdbId == null) {
+                    continue;
+                }
+                double contribution = weight * (best > 0 ? candidate.score() / best : 0);
+                Blended blended = byMovie.get(tmdbId);
+                if (blended == null) {
+                    byMovie.put(tmdbId, new Blended(candidate.movie(), contribution));
+                } else {
+                    blended.add(candidate.movie(), contribution);
+                }
+            }
+        }
+
+        // 2. Greedy diversity re-ranking
+        List<Blended> remaining = new ArrayList<>(byMovie.values());
+        Map<String, Integer> genreCounts = new HashMap<>();
+        List<RecommendationDTO> result = new ArrayList<>(Math.min(limit, remaining.size()));
+        while (result.size() < limit && !remaining.isEmpty()) {
+            int bestIndex = 0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < remaining.size(); i++) {
+                Blended candidate = remaining.get(i);
+                double adjusted = candidate.score * Math.pow(diversityDecay, maxGenreCount(candidate, genreCounts));
+                if (adjusted > bestScore) {
+                    bestScore = adjusted;
+                    bestIndex = i;
+                }
+            }
+            // Swap-remove: order of the remaining candidates does not matter
+            Blended picked = remaining.get(bestIndex);
+            remaining.set(bestIndex, remaining.get(remaining.size() - 1));
+            remaining.remove(remaining.size() - 1);
+
+            result.add(picked.movie);
+            if (picked.movie.getGenres() != null) {
+                for (String genre : picked.movie.getGenres()) {
+                    genreCounts.merge(genre, 1, Integer::sum);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int maxGenreCount(Blended candidate, Map<String, Integer> genreCounts) {
+        List<String> genres = candidate.movie.getGenres();
+        if (genres == null || genreCounts.isEmpty()) {
+            return 0;
+        }
+        int max = 0;
+        for (String genre : genres) {
+            max = Math.max(max, genreCounts.getOrDefault(genre, 0));
+        }
+        return max;
+    }
+
+    private static final class Blended {
+
+        private RecommendationDTO movie;
+        private double score;
+        private double strongest;
+
+        Blended(RecommendationDTO movie, double contribution) {
+            this.movie = movie;
+            this.score = contribution;
+            this.strongest = contribution;
+        }
+
+        void add(RecommendationDTO other, double contribution) {
+            score += contribution;
+            if (contribution > strongest) {
+                strongest = contribution;
+                // Keep the strongest strategy's reason, but don't lose genres only the other one had.
+                // Copied, not set: the candidate DTOs belong to the strategies.
+                if (other.getGenres() == null && movie.getGenres() != null) {
+                    other = other.toBuilder().genres(movie.getGenres()).build();
+                }
+                movie = other;
+            }
+        }
+    }
+}
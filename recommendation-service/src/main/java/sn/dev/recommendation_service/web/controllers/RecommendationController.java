@@ -2,9 +2,11 @@ package sn.dev.recommendation_service.web.controllers;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import jakarta.validation.Valid;
 import sn.dev.recommendation_service.web.dto.RecommendationDTO;
@@ -22,6 +24,13 @@ public interface RecommendationController {
     @GetMapping
     ResponseEntity<List<RecommendationDTO>> getRecommendations();
 
+    /**
+     * Movies most similar to this one based on how users rated them (public).
+     */
+    @GetMapping("/movie/{tmdbId}/also-liked")
+    ResponseEntity<List<RecommendationDTO>> getAlsoLiked(@PathVariable Integer tmdbId,
+            @RequestParam(defaultValue = "10") int limit);
+
     /**
      * Share a movie recommendation with another user.
      */
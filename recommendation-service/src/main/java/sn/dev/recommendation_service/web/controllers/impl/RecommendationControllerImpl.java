@@ -11,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import sn.dev.recommendation_service.services.RecommendationService;
 import sn.dev.recommendation_service.web.controllers.RecommendationController;
 import sn.dev.recommendation_service.web.dto.RecommendationDTO;
+import sn.dev.recommendation_service.web.dto.RecommendationResultDTO;
 import sn.dev.recommendation_service.web.dto.ShareRequestDTO;
 import sn.dev.recommendation_service.web.dto.SharedRecommendationDTO;
 
@@ -18,6 +19,9 @@ import sn.dev.recommendation_service.web.dto.SharedRecommendationDTO;
 @RequiredArgsConstructor
 public class RecommendationControllerImpl implements RecommendationController {
 
+    static final String HEADER_PARTIAL = "X-Recommendations-Partial";
+    static final String HEADER_INCOMPLETE = "X-Recommendations-Incomplete";
+
     private final RecommendationService recommendationService;
 
     @Override
@@ -29,15 +33,25 @@ public class RecommendationControllerImpl implements RecommendationController {
             String userId = jwt.getSubject();
 
             // 2. Call Service
-            List<RecommendationDTO> recommendations = recommendationService.getRecommendations(userId);
+            RecommendationResultDTO result = recommendationService.getRecommendations(userId);
 
-            return ResponseEntity.ok(recommendations);
+            // 3. Flag strategies that failed or missed the latency budget
+            return ResponseEntity.ok()
+                    .header(HEADER_PARTIAL, String.valueOf(result.partial()))
+                    .header(HEADER_INCOMPLETE, String.join(",", result.incompleteStrategies()))
+                    .body(result.recommendations());
         }
 
         // If unauthenticated, return 401 or an empty list depending on preference
         return ResponseEntity.status(401).build();
     }
 
+    @Override
+    public ResponseEntity<List<RecommendationDTO>> getAlsoLiked(Integer tmdbId, int limit) {
+        int safeLimit = Math.min(Math.max(limit, 1), 20);
+        return ResponseEntity.ok(recommendationService.getAlsoLiked(tmdbId, safeLimit));
+    }
+
     @Override
     public ResponseEntity<Void> shareRecommendation(ShareRequestDTO request) {
         recommendationService.shareRecommendation(request);
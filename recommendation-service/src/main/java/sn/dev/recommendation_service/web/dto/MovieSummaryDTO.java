@@ -1,5 +1,7 @@
 package sn.dev.recommendation_service.web.dto;
 
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,4 +18,5 @@ public class MovieSummaryDTO {
     private String posterPath;
     private Double voteAverage;
     private Integer releaseYear;
+    private List<String> genres;
 }
@@ -1,5 +1,7 @@
 package sn.dev.recommendation_service.web.dto;
 
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,7 +10,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class RecommendationDTO {
     private Integer tmdbId;
     private String title;
@@ -16,5 +18,6 @@ public class RecommendationDTO {
     private String overview;
     private Double voteAverage;
     private Integer releaseYear;
+    private List<String> genres;
     private String reason; // e.g., "Popular among users who liked Inception", "Similar to The Matrix"
 }
@@ -0,0 +1,14 @@
+package sn.dev.recommendation_service.web.dto;
+
+import java.util.List;
+
+/**
+ * Recommendations plus the strategies that did not contribute because they failed
+ * or ran past the latency budget. A non-empty list means the result is partial.
+ */
+public record RecommendationResultDTO(List<RecommendationDTO> recommendations, List<String> incompleteStrategies) {
+
+    public boolean partial() {
+        return !incompleteStrategies.isEmpty();
+    }
+}
@@ -0,0 +1,119 @@
+package sn.dev.recommendation_service.data.matrix;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import sn.dev.recommendation_service.data.matrix.ContentFeatureIndex.ContentRecommendation;
+import sn.dev.recommendation_service.data.matrix.ContentFeatureIndex.FeatureKind;
+
+class ContentFeatureIndexTest {
+
+    private static final int DRAMA = 18;
+    private static final int COMEDY = 35;
+    private static final int NOLAN = 525;
+    private static final int CAINE = 3895;
+
+    @Test
+    void movieWithTheSameFeaturesAsALikedOneScoresOne() {
+        ContentFeatureIndex.Builder builder = new ContentFeatureIndex.Builder();
+        movie(builder, 1, DRAMA, NOLAN);
+        movie(builder, 2, DRAMA, NOLAN);
+        movie(builder, 3, DRAMA, 0);
+        movie(builder, 4, COMEDY, 0);
+        ContentFeatureIndex index = builder.build();
+
+        List<ContentRecommendation> recommendations = index.recommend(Map.of(1, 5), 10, 50);
+
+        assertThat(recommendations).extracting(ContentRecommendation::tmdbId).containsExactly(2, 3);
+        assertThat(recommendations.get(0).score()).isCloseTo(1.0, within(1e-5));
+        assertThat(recommendations.get(1).score()).isBetween(0.0, 1.0);
+    }
+
+    @Test
+    void rareDirectorOutweighsCommonGenre() {
+        ContentFeatureIndex.Builder builder = new ContentFeatureIndex.Builder();
+        movie(builder, 1, DRAMA, NOLAN);
+        movie(builder, 2, DRAMA, 0);
+        movie(builder, 3, COMEDY, NOLAN);
+        for (int tmdbId = 10; tmdbId < 16; tmdbId++) {
+            movie(builder, tmdbId, DRAMA, 0);
+        }
+        ContentFeatureIndex index = builder.build();
+
+        List<ContentRecommendation> recommendations = index.recommend(Map.of(1, 5), 3, 50);
+
+        assertThat(recommendations).hasSize(3);
+        assertThat(recommendations.get(0).tmdbId()).isEqualTo(3);
+        assertThat(recommendations.get(0).reason()).isEqualTo("Because you like Christopher Nolan");
+        assertThat(recommendations.get(1).reason()).isEqualTo("Because you like Drama");
+        assertThat(recommendations).extracting(ContentRecommendation::score)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    void excludesRatedMoviesAndIgnoresUnlikedOnes() {
+        ContentFeatureIndex.Builder builder = new ContentFeatureIndex.Builder();
+        movie(builder, 1, DRAMA, NOLAN);
+        movie(builder, 2, DRAMA, NOLAN);
+        movie(builder, 3, DRAMA, 0);
+        ContentFeatureIndex index = builder.build();
+
+        // 2 shares every feature of the liked movie but was rated, if poorly
+        assertThat(index.recommend(Map.of(1, 5, 2, 1, 999, 5), 10, 50))
+                .extracting(ContentRecommendation::tmdbId).containsExactly(3);
+        assertThat(index.recommend(Map.of(1, 3, 2, 2), 10, 50)).isEmpty();
+        assertThat(index.recommend(Map.of(), 10, 50)).isEmpty();
+    }
+
+    @Test
+    void scoresOnlyThroughTheStrongestTasteFeatures() {
+        ContentFeatureIndex.Builder builder = new ContentFeatureIndex.Builder();
+        movie(builder, 1, DRAMA, NOLAN);
+        movie(builder, 2, DRAMA, 0);
+        movie(builder, 3, COMEDY, NOLAN);
+        ContentFeatureIndex index = builder.build();
+
+        assertThat(index.recommend(Map.of(1, 5), 10, 1))
+                .extracting(ContentRecommendation::tmdbId).containsExactly(3);
+        assertThat(index.recommend(Map.of(1, 5), 10, 2))
+                .extracting(ContentRecommendation::tmdbId).containsExactlyInAnyOrder(2, 3);
+    }
+
+    @Test
+    void pooledScratchSurvivesIndexesOfDifferentSizes() {
+        ContentFeatureIndex.Builder small = new ContentFeatureIndex.Builder();
+        movie(small, 1, DRAMA, NOLAN);
+        movie(small, 2, DRAMA, 0);
+        ContentFeatureIndex smallIndex = small.build();
+
+        ContentFeatureIndex.Builder large = new ContentFeatureIndex.Builder();
+        for (int tmdbId = 1; tmdbId <= 3000; tmdbId++) {
+            large.add(tmdbId, FeatureKind.GENRE, tmdbId % 20, null);
+            large.add(tmdbId, FeatureKind.ACTOR, tmdbId, "Actor " + tmdbId);
+        }
+        large.add(1, FeatureKind.ACTOR, CAINE, "Michael Caine");
+        large.add(2999, FeatureKind.ACTOR, CAINE, "Michael Caine");
+        ContentFeatureIndex largeIndex = large.build();
+
+        List<ContentRecommendation> before = smallIndex.recommend(Map.of(1, 5), 10, 50);
+        assertThat(largeIndex.recommend(Map.of(1, 5), 1, 50))
+                .extracting(ContentRecommendation::tmdbId).containsExactly(2999);
+        assertThat(smallIndex.recommend(Map.of(1, 5), 10, 50)).isEqualTo(before);
+        assertThat(largeIndex.featureCount()).isEqualTo(3021);
+        assertThat(largeIndex.movieCount()).isEqualTo(3000);
+    }
+
+    // director 0 means none
+    private static void movie(ContentFeatureIndex.Builder builder, int tmdbId, int genre, int director) {
+        builder.add(tmdbId, FeatureKind.GENRE, genre, genre == DRAMA ? "Drama" : "Comedy");
+        if (director != 0) {
+            builder.add(tmdbId, FeatureKind.DIRECTOR, director, "Christopher Nolan");
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package sn.dev.recommendation_service.data.matrix;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import sn.dev.recommendation_service.data.matrix.ItemSimilarity.MovieNeighbours;
+import sn.dev.recommendation_service.data.matrix.ItemSimilarity.Neighbour;
+
+class ItemSimilarityTest {
+
+    private static final ZonedDateTime T0 = ZonedDateTime.parse("2026-01-01T00:00:00Z");
+    private static final int USERS = 12;
+    private static final int MOVIES = 8;
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    // user -> tmdbId -> score, kept in step with the snapshot
+    private final Map<String, Map<Integer, Integer>> ratings = new TreeMap<>();
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void matchesBruteForceAdjustedCosine() {
+        RatingMatrixSnapshot snapshot = randomSnapshot(42);
+
+        List<MovieNeighbours> all = ItemSimilarity.computeAll(snapshot, MOVIES, 2, pool);
+
+        assertThat(all).hasSize(MOVIES).anySatisfy(movie -> assertThat(movie.neighbours()).isNotEmpty());
+        for (MovieNeighbours movie : all) {
+            Map<Integer, Double> expected = reference(movie.tmdbId(), 2);
+            assertThat(movie.neighbours()).extracting(Neighbour::tmdbId)
+                    .containsExactlyInAnyOrderElementsOf(expected.keySet());
+            for (Neighbour neighbour : movie.neighbours()) {
+                assertThat(neighbour.similarity()).isCloseTo(expected.get(neighbour.tmdbId()), within(1e-5));
+                assertThat(neighbour.coRaters()).isEqualTo(coRaters(movie.tmdbId(), neighbour.tmdbId()));
+            }
+            assertThat(movie.neighbours()).extracting(Neighbour::similarity)
+                    .isSortedAccordingTo(Comparator.reverseOrder());
+        }
+    }
+
+    @Test
+    void keepsOnlyTheTopKAndHonoursMinCoRaters() {
+        RatingMatrixSnapshot snapshot = randomSnapshot(7);
+
+        for (MovieNeighbours movie : ItemSimilarity.computeAll(snapshot, 2, 4, pool)) {
+            List<Integer> expected = reference(movie.tmdbId(), 4).entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                    .limit(2)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            assertThat(movie.neighbours()).extracting(Neighbour::tmdbId).containsExactlyElementsOf(expected);
+            assertThat(movie.neighbours()).allSatisfy(n -> assertThat(n.coRaters()).isGreaterThanOrEqualTo(4));
+        }
+    }
+
+    @Test
+    void computesRequestedMoviesOnlyAndSkipsUnknownOnes() {
+        RatingMatrixSnapshot snapshot = randomSnapshot(3);
+
+        List<MovieNeighbours> some = ItemSimilarity.compute(snapshot, List.of(102, 999, 105), MOVIES, 2, pool);
+
+        assertThat(some).extracting(MovieNeighbours::tmdbId).containsExactly(102, 105);
+        assertThat(ItemSimilarity.compute(snapshot, List.of(999), MOVIES, 2, pool)).isEmpty();
+    }
+
+    // Random base matrix plus a delta that rescores and deletes some ratings, so the overlay is exercised too
+    private RatingMatrixSnapshot randomSnapshot(long seed) {
+        Random random = new Random(seed);
+        RatingMatrixSnapshot.Loader loader = new RatingMatrixSnapshot.Loader();
+        for (int u = 0; u < USERS; u++) {
+            for (int m = 0; m < MOVIES; m++) {
+                if (random.nextInt(10) < 7) {
+                    rate(loader::add, "user" + u, 100 + m, 1 + random.nextInt(5));
+                }
+            }
+        }
+        RatingMatrixSnapshot base = loader.build(T0);
+
+        RatingMatrixSnapshot.Delta delta = base.delta();
+        for (int u = 0; u < USERS; u += 3) {
+            String user = "user" + u;
+            Map<Integer, Integer> own = ratings.get(user);
+            if (own == null || own.isEmpty()) {
+                continue;
+            }
+            own.remove(own.keySet().iterator().next());
+            delta.retainOnly(user, own.keySet());
+        }
+        for (int u = 1; u < USERS; u += 3) {
+            rate(delta::add, "user" + u, 100 + random.nextInt(MOVIES), 1 + random.nextInt(5));
+        }
+        return delta.apply(T0.plusMinutes(1));
+    }
+
+    @FunctionalInterface
+    private interface Sink {
+        void add(String keycloakId, int tmdbId, int score);
+    }
+
+    private void rate(Sink sink, String user, int tmdbId, int score) {
+        sink.add(user, tmdbId, score);
+        ratings.computeIfAbsent(user, u -> new TreeMap<>()).put(tmdbId, score);
+    }
+
+    // Positive adjusted-cosine similarities of every other movie with at least minCoRaters shared raters
+    private Map<Integer, Double> reference(int target, int minCoRaters) {
+        Map<String, Double> means = new HashMap<>();
+        ratings.forEach((user, own) -> means.put(user,
+                own.values().stream().mapToInt(Integer::intValue).average().orElse(0)));
+
+        Map<Integer, Double> similarities = new HashMap<>();
+        for (int other = 100; other < 100 + MOVIES; other++) {
+            if (other == target || coRaters(target, other) < minCoRaters) {
+                continue;
+            }
+            double dot = 0;
+            double targetSquares = 0;
+            double otherSquares = 0;
+            for (Map.Entry<String, Map<Integer, Integer>> user : ratings.entrySet()) {
+                double mean = means.get(user.getKey());
+                Integer targetScore = user.getValue().get(target);
+                Integer otherScore = user.getValue().get(other);
+                if (targetScore != null) {
+                    targetSquares += (targetScore - mean) * (targetScore - mean);
+                }
+                if (otherScore != null) {
+                    otherSquares += (otherScore - mean) * (otherScore - mean);
+                }
+                if (targetScore != null && otherScore != null) {
+                    dot += (targetScore - mean) * (otherScore - mean);
+                }
+            }
+            if (targetSquares == 0 || otherSquares == 0) {
+                continue;
+            }
+            double sim = dot / (Math.sqrt(targetSquares) * Math.sqrt(otherSquares));
+            if (sim > 0) {
+                similarities.put(other, sim);
+            }
+        }
+        return similarities;
+    }
+
+    private int coRaters(int a, int b) {
+        return (int) ratings.values().stream().filter(own -> own.containsKey(a) && own.containsKey(b)).count();
+    }
+}
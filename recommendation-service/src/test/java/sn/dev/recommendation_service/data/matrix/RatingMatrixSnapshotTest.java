@@ -0,0 +1,144 @@
+package sn.dev.recommendation_service.data.matrix;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class RatingMatrixSnapshotTest {
+
+    private static final ZonedDateTime T0 = ZonedDateTime.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void deltaReplacesBaseScoresAndLastWriteWins() {
+        RatingMatrixSnapshot base = load("a", 1, 2, "a", 2, 4, "b", 1, 5);
+
+        RatingMatrixSnapshot.Delta first = base.delta();
+        first.add("a", 1, 3);
+        first.add("a", 1, 5);
+        RatingMatrixSnapshot once = first.apply(T0.plusMinutes(1));
+
+        RatingMatrixSnapshot.Delta second = once.delta();
+        second.add("a", 2, 1);
+        RatingMatrixSnapshot twice = second.apply(T0.plusMinutes(2));
+
+        assertThat(ratings(twice, "a")).containsExactly(entry(1, 5), entry(2, 1));
+        assertThat(raters(twice, 1)).containsExactly(entry("a", 5), entry("b", 5));
+        assertThat(twice.baseRatings()).isEqualTo(3);
+        assertThat(twice.overlayRatings()).isEqualTo(2);
+        assertThat(twice.watermark()).isEqualTo(T0.plusMinutes(2));
+        // earlier snapshots are untouched
+        assertThat(ratings(base, "a")).containsExactly(entry(1, 2), entry(2, 4));
+        assertThat(ratings(once, "a")).containsExactly(entry(1, 5), entry(2, 4));
+    }
+
+    @Test
+    void deltaDropsRatingsNoLongerInTheGraph() {
+        RatingMatrixSnapshot base = load("a", 1, 5, "a", 2, 4, "a", 3, 3, "b", 1, 5);
+
+        RatingMatrixSnapshot.Delta delta = base.delta();
+        delta.retainOnly("a", Set.of(2, 3));
+        delta.retainOnly("unknown", Set.of());
+        RatingMatrixSnapshot pruned = delta.apply(T0.plusMinutes(1));
+
+        assertThat(ratings(pruned, "a")).containsExactly(entry(2, 4), entry(3, 3));
+        assertThat(raters(pruned, 1)).containsExactly(entry("b", 5));
+        assertThat(ratings(pruned, "b")).containsExactly(entry(1, 5));
+    }
+
+    @Test
+    void ratingDeletedAndAddedAgainInOneDeltaIsKept() {
+        RatingMatrixSnapshot base = load("a", 1, 5, "a", 2, 4);
+
+        RatingMatrixSnapshot.Delta delta = base.delta();
+        delta.retainOnly("a", Set.of(2));
+        delta.add("a", 1, 2);
+        RatingMatrixSnapshot snapshot = delta.apply(T0.plusMinutes(1));
+
+        assertThat(ratings(snapshot, "a")).containsExactly(entry(1, 2), entry(2, 4));
+        assertThat(raters(snapshot, 1)).containsExactly(entry("a", 2));
+    }
+
+    @Test
+    void deltaGrowsOrdinalsForNewUsersAndMovies() {
+        RatingMatrixSnapshot base = load("a", 1, 5);
+
+        // more new movies than the initial ordinal capacity
+        RatingMatrixSnapshot.Delta delta = base.delta();
+        delta.add("z", 1, 5);
+        for (int i = 0; i < 2000; i++) {
+            delta.add("z", 10_000 + i, 4);
+        }
+        RatingMatrixSnapshot grown = delta.apply(T0.plusMinutes(1));
+
+        RatingOrdinals ordinals = grown.ordinals();
+        assertThat(ordinals.userCount()).isEqualTo(2);
+        assertThat(ordinals.movieCount()).isEqualTo(2001);
+        assertThat(ordinals.tmdbId(ordinals.findMovie(11_999))).isEqualTo(11_999);
+        assertThat(ratings(grown, "z")).hasSize(2001).containsEntry(11_999, 4);
+        assertThat(raters(grown, 11_999)).containsExactly(entry("z", 4));
+        assertThat(raters(grown, 1)).containsExactly(entry("a", 5), entry("z", 5));
+
+        List<MatrixRecommendation> recommendations = grown.recommend("a", 3);
+        assertThat(recommendations).hasSize(3)
+                .allSatisfy(r -> assertThat(r.recommenders()).isEqualTo(1));
+    }
+
+    @Test
+    void recommendExcludesMoviesTheUserRated() {
+        RatingMatrixSnapshot base = load(
+                "a", 1, 5, "a", 2, 4,
+                "b", 1, 5, "b", 2, 5, "b", 3, 5, "b", 4, 4,
+                "c", 1, 4, "c", 3, 4, "c", 5, 2);
+
+        // 3 is liked by both neighbours, 4 by one; 2 is rated already, 5 is not liked
+        assertThat(base.recommend("a", 10)).containsExactly(
+                new MatrixRecommendation(3, 4.5, 2),
+                new MatrixRecommendation(4, 4.0, 1));
+        assertThat(base.recommend("a", 1)).extracting(MatrixRecommendation::tmdbId).containsExactly(3);
+
+        RatingMatrixSnapshot.Delta delta = base.delta();
+        delta.add("a", 3, 1);
+        RatingMatrixSnapshot rated = delta.apply(T0.plusMinutes(1));
+
+        assertThat(rated.recommend("a", 10)).extracting(MatrixRecommendation::tmdbId).containsExactly(4);
+        assertThat(rated.recommend("unknown", 10)).isEmpty();
+    }
+
+    // (keycloakId, tmdbId, score) triples
+    private static RatingMatrixSnapshot load(Object... ratings) {
+        RatingMatrixSnapshot.Loader loader = new RatingMatrixSnapshot.Loader();
+        for (int i = 0; i < ratings.length; i += 3) {
+            loader.add((String) ratings[i], (Integer) ratings[i + 1], (Integer) ratings[i + 2]);
+        }
+        return loader.build(T0);
+    }
+
+    private static Map<Integer, Integer> ratings(RatingMatrixSnapshot snapshot, String keycloakId) {
+        RatingOrdinals ordinals = snapshot.ordinals();
+        Map<Integer, Integer> ratings = new LinkedHashMap<>();
+        snapshot.forEachRating(ordinals.findUser(keycloakId),
+                (movie, score) -> ratings.put(ordinals.tmdbId(movie), score));
+        return ratings;
+    }
+
+    private static Map<String, Integer> raters(RatingMatrixSnapshot snapshot, int tmdbId) {
+        RatingOrdinals ordinals = snapshot.ordinals();
+        Map<Integer, String> keycloakIds = new LinkedHashMap<>();
+        for (String keycloakId : List.of("a", "b", "c", "z")) {
+            Integer user = ordinals.findUser(keycloakId);
+            if (user != null) {
+                keycloakIds.put(user, keycloakId);
+            }
+        }
+        Map<String, Integer> raters = new LinkedHashMap<>();
+        snapshot.forEachRater(ordinals.findMovie(tmdbId), (user, score) -> raters.put(keycloakIds.get(user), score));
+        return raters;
+    }
+}
@@ -0,0 +1,99 @@
+package sn.dev.recommendation_service.services.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import sn.dev.recommendation_service.services.RecommendationMerger.Candidate;
+import sn.dev.recommendation_service.services.RecommendationMerger.StrategyCandidates;
+import sn.dev.recommendation_service.web.dto.RecommendationDTO;
+
+class WeightedDiversityMergerTest {
+
+    // collaborative 1.0, content 0.7, tmdb-similar 0.4, decay 0.8 per already-picked movie of the same genre
+    private final WeightedDiversityMerger merger = new WeightedDiversityMerger(1.0, 0.7, 0.4, 0.8);
+
+    @Test
+    void normalisesEachStrategyByItsBestScore() {
+        List<RecommendationDTO> merged = merger.merge(List.of(
+                strategy("collaborative", candidate(1, 10, "Drama"), candidate(2, 5, "Comedy")),
+                strategy("content", candidate(3, 100, "Horror"))), 10);
+
+        // 1 -> 1.0, 3 -> 0.7 (its raw 100 does not outrank 10 on another scale), 2 -> 0.5
+        assertThat(tmdbIds(merged)).containsExactly(1, 3, 2);
+    }
+
+    @Test
+    void sumsContributionsOfAMovieFoundByTwoStrategies() {
+        List<RecommendationDTO> merged = merger.merge(List.of(
+                strategy("collaborative", candidate(1, 10, "Drama"), candidate(2, 5, "Comedy")),
+                strategy("content", candidate(2, 1, "Comedy"))), 10);
+
+        // 2 -> 0.5 + 0.7 = 1.2 beats 1 -> 1.0, and appears once
+        assertThat(tmdbIds(merged)).containsExactly(2, 1);
+    }
+
+    @Test
+    void keepsStrongestReasonWithoutLosingGenres() {
+        RecommendationDTO fromCollaborative = movie(1, "Popular among similar users", "Drama");
+        RecommendationDTO fromContent = movie(1, "Because you like Christopher Nolan");
+        fromContent.setGenres(null);
+
+        List<RecommendationDTO> merged = merger.merge(List.of(
+                strategy("collaborative", new Candidate(movie(2, "top", "Comedy"), 10),
+                        new Candidate(fromCollaborative, 5)),
+                strategy("content", new Candidate(fromContent, 1))), 10);
+
+        RecommendationDTO blended = merged.get(0);
+        assertThat(blended.getTmdbId()).isEqualTo(1);
+        assertThat(blended.getReason()).isEqualTo("Because you like Christopher Nolan");
+        assertThat(blended.getGenres()).containsExactly("Drama");
+        // Strategy-owned candidates are left untouched
+        assertThat(fromContent.getGenres()).isNull();
+    }
+
+    @Test
+    void diversityDecayInterleavesGenres() {
+        List<RecommendationDTO> merged = merger.merge(List.of(
+                strategy("collaborative",
+                        candidate(1, 10, "Drama"),
+                        candidate(2, 9.5, "Drama"),
+                        candidate(3, 9, "Comedy"))), 10);
+
+        // After 1 is picked, 2 drops to 0.95 * 0.8 = 0.76 and the Comedy (0.9) goes ahead of it
+        assertThat(tmdbIds(merged)).containsExactly(1, 3, 2);
+    }
+
+    @Test
+    void stopsAtLimit() {
+        List<RecommendationDTO> merged = merger.merge(List.of(
+                strategy("collaborative", candidate(1, 3, "Drama"), candidate(2, 2, "Comedy"),
+                        candidate(3, 1, "Horror"))), 2);
+
+        assertThat(tmdbIds(merged)).containsExactly(1, 2);
+    }
+
+    private static StrategyCandidates strategy(String name, Candidate... candidates) {
+        return new StrategyCandidates(name, List.of(candidates));
+    }
+
+    private static Candidate candidate(int tmdbId, double score, String... genres) {
+        return new Candidate(movie(tmdbId, "reason " + tmdbId, genres), score);
+    }
+
+    private static RecommendationDTO movie(int tmdbId, String reason, String... genres) {
+        return RecommendationDTO.builder()
+                .tmdbId(tmdbId)
+                .title("Movie " + tmdbId)
+                .genres(Arrays.asList(genres))
+                .reason(reason)
+                .build();
+    }
+
+    private static List<Integer> tmdbIds(List<RecommendationDTO> movies) {
+        return movies.stream().map(RecommendationDTO::getTmdbId).toList();
+    }
+}
@@ -0,0 +1,56 @@
+package sn.dev.schema;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+/**
+ * Readiness check ("schema" in the readiness health group): DOWN until {@link SchemaMigrator}
+ * has completed and every index its migrations create is ONLINE. Indexes populate asynchronously,
+ * which can take a while when one is first created on a graph that already holds the data.
+ */
+public class SchemaHealthIndicator implements HealthIndicator {
+
+    private final Neo4jClient neo4jClient;
+    private final SchemaMigrator schemaMigrator;
+
+    public SchemaHealthIndicator(Neo4jClient neo4jClient, SchemaMigrator schemaMigrator) {
+        this.neo4jClient = neo4jClient;
+        this.schemaMigrator = schemaMigrator;
+    }
+
+    @Override
+    public Health health() {
+        List<String> required = schemaMigrator.requiredIndexNames();
+
+        Map<String, String> states = new LinkedHashMap<>();
+        try {
+            neo4jClient.query("SHOW INDEXES YIELD name, state WHERE name IN $names RETURN name, state")
+                    .bind(required).to("names")
+                    .fetch()
+                    .all()
+                    .forEach(row -> states.put((String) row.get("name"), (String) row.get("state")));
+        } catch (Exception e) {
+            return Health.down(e).build();
+        }
+
+        List<String> notReady = new ArrayList<>();
+        for (String name : required) {
+            String state = states.putIfAbsent(name, "MISSING");
+            if (!"ONLINE".equals(state)) {
+                notReady.add(name);
+            }
+        }
+
+        boolean migrated = schemaMigrator.isComplete();
+        Health.Builder builder = notReady.isEmpty() && migrated
+                ? Health.up()
+                : Health.down().withDetail("notReady", notReady);
+        return builder.withDetail("migrated", migrated).withDetail("indexes", states).build();
+    }
+}
@@ -0,0 +1,8 @@
+package sn.dev.schema;
+
+/**
+ * One versioned schema statement. indexName is the index (or constraint-backed index) it creates,
+ * which {@link SchemaHealthIndicator} waits on.
+ */
+public record SchemaMigration(int version, String description, String statement, String indexName) {
+}
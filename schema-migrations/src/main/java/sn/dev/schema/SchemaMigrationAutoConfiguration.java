@@ -0,0 +1,32 @@
+package sn.dev.schema;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+/**
+ * Adds the {@link SchemaMigrator} and the "schema" readiness check to a service that declares its
+ * {@link SchemaMigrations} bean.
+ */
+@AutoConfiguration
+@ConditionalOnBean(SchemaMigrations.class)
+public class SchemaMigrationAutoConfiguration {
+
+    @Bean
+    public SchemaMigrator schemaMigrator(Neo4jClient neo4jClient, SchemaMigrations schemaMigrations,
+            @Value("${spring.application.name}") String serviceName,
+            @Value("${schema.migration.retry-initial:5s}") Duration retryInitial,
+            @Value("${schema.migration.retry-max:5m}") Duration retryMax) {
+        return new SchemaMigrator(neo4jClient, serviceName, schemaMigrations, retryInitial, retryMax);
+    }
+
+    // Registered as the "schema" health contributor
+    @Bean
+    public SchemaHealthIndicator schemaHealthIndicator(Neo4jClient neo4jClient, SchemaMigrator schemaMigrator) {
+        return new SchemaHealthIndicator(neo4jClient, schemaMigrator);
+    }
+}
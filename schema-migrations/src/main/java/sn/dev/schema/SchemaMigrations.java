@@ -0,0 +1,44 @@
+package sn.dev.schema;
+
+import java.util.List;
+
+/**
+ * The ordered migrations of one service. Declaring it as a bean is all a service needs: the
+ * auto-configuration adds the {@link SchemaMigrator} and the "schema" {@link SchemaHealthIndicator}.
+ *
+ * Migrations are append-only: never edit or renumber one that shipped.
+ */
+public final class SchemaMigrations {
+
+    private final List<SchemaMigration> migrations;
+
+    private SchemaMigrations(List<SchemaMigration> migrations) {
+        this.migrations = migrations;
+    }
+
+    /**
+     * @throws IllegalArgumentException unless the versions strictly increase from 1
+     */
+    public static SchemaMigrations of(SchemaMigration... migrations) {
+        int previous = 0;
+        for (SchemaMigration migration : migrations) {
+            if (migration.version() <= previous) {
+                throw new IllegalArgumentException("Schema migration " + migration.version()
+                        + " must come after version " + previous);
+            }
+            previous = migration.version();
+        }
+        return new SchemaMigrations(List.of(migrations));
+    }
+
+    public List<SchemaMigration> list() {
+        return migrations;
+    }
+
+    /**
+     * Names of the indexes (including constraint-backed ones) the migrations create.
+     */
+    public List<String> indexNames() {
+        return migrations.stream().map(SchemaMigration::indexName).toList();
+    }
+}
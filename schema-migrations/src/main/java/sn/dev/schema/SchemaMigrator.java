@@ -0,0 +1,123 @@
+package sn.dev.schema;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Versioned Neo4j schema bootstrap for the labels a service owns, applied at startup before any
+ * other runner.
+ *
+ * The version reached is stored on (:SchemaVersion {service: spring.application.name}), so a
+ * restart only runs the migrations added since.
+ *
+ * A failed run does not abort startup. The scheduler retries it with exponential backoff
+ * (schema.migration.retry-*); until then {@link SchemaHealthIndicator} keeps the service out of
+ * the readiness group.
+ */
+public class SchemaMigrator implements ApplicationRunner, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    private final Neo4jClient neo4jClient;
+    private final String serviceName;
+    private final SchemaMigrations migrations;
+    private final Duration retryInitial;
+    private final Duration retryMax;
+
+    private volatile boolean complete;
+    private int failures;
+    private Instant nextAttempt = Instant.EPOCH;
+
+    public SchemaMigrator(Neo4jClient neo4jClient, String serviceName, SchemaMigrations migrations,
+            Duration retryInitial, Duration retryMax) {
+        this.neo4jClient = neo4jClient;
+        this.serviceName = serviceName;
+        this.migrations = migrations;
+        this.retryInitial = retryInitial;
+        this.retryMax = retryMax;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrate();
+    }
+
+    /**
+     * Re-attempts a failed migration once its backoff has elapsed; a no-op once migrated.
+     */
+    @Scheduled(fixedDelayString = "${schema.migration.retry-initial:5s}")
+    public void retryIfIncomplete() {
+        if (!complete && !Instant.now().isBefore(nextAttempt)) {
+            migrate();
+        }
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    private synchronized void migrate() {
+        if (complete) {
+            return;
+        }
+        try {
+            int current = currentVersion();
+            for (SchemaMigration migration : migrations.list()) {
+                if (migration.version() <= current) {
+                    continue;
+                }
+                log.info("Applying schema migration {}: {}", migration.version(), migration.description());
+                // Schema statements cannot share a transaction with writes, so each runs on its own
+                neo4jClient.query(migration.statement()).run();
+                neo4jClient.query("MERGE (v:SchemaVersion {service: $service}) " +
+                        "SET v.version = $version, v.updatedAt = datetime()")
+                        .bind(serviceName).to("service")
+                        .bind(migration.version()).to("version")
+                        .run();
+            }
+            complete = true;
+            if (failures > 0) {
+                log.info("Schema migration succeeded after {} failed attempts", failures);
+            }
+        } catch (Exception e) {
+            // Delay doubles per failure, capped at retry-max
+            Duration delay = retryInitial.multipliedBy(1L << Math.min(failures++, 20));
+            if (delay.compareTo(retryMax) > 0) {
+                delay = retryMax;
+            }
+            nextAttempt = Instant.now().plus(delay);
+            log.error("Schema migration failed (attempt {}), retrying in {}s; readiness stays DOWN until it succeeds: {}",
+                    failures, delay.toSeconds(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Names of the indexes (including constraint-backed ones) the migrations create.
+     */
+    public List<String> requiredIndexNames() {
+        return migrations.indexNames();
+    }
+
+    private int currentVersion() {
+        return neo4jClient.query("MATCH (v:SchemaVersion {service: $service}) RETURN v.version AS version")
+                .bind(serviceName).to("service")
+                .fetchAs(Integer.class)
+                .mappedBy((typeSystem, record) -> record.get("version").asInt())
+                .one()
+                .orElse(0);
+    }
+}
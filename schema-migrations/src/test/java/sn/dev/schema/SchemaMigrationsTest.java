@@ -0,0 +1,29 @@
+package sn.dev.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+class SchemaMigrationsTest {
+
+    @Test
+    void keepsTheMigrationsInOrderAndListsTheirIndexes() {
+        SchemaMigrations migrations = SchemaMigrations.of(
+                new SchemaMigration(1, "first", "CREATE INDEX a IF NOT EXISTS FOR (n:A) ON (n.x)", "a"),
+                new SchemaMigration(2, "second", "CREATE INDEX b IF NOT EXISTS FOR (n:B) ON (n.x)", "b"));
+
+        assertThat(migrations.list()).extracting(SchemaMigration::version).containsExactly(1, 2);
+        assertThat(migrations.indexNames()).containsExactly("a", "b");
+    }
+
+    @Test
+    void rejectsDuplicateOrDecreasingVersions() {
+        SchemaMigration first = new SchemaMigration(1, "first", "", "a");
+        SchemaMigration second = new SchemaMigration(2, "second", "", "b");
+
+        assertThatIllegalArgumentException().isThrownBy(() -> SchemaMigrations.of(first, first));
+        assertThatIllegalArgumentException().isThrownBy(() -> SchemaMigrations.of(second, first));
+        assertThatIllegalArgumentException().isThrownBy(() -> SchemaMigrations.of(new SchemaMigration(0, "zero", "", "z")));
+    }
+}
@@ -0,0 +1,98 @@
+package sn.dev.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * {@link JwtDecoder} that remembers tokens it has already verified.
+ *
+ * A token is sent with every request, by the same client, for its whole lifetime;
+ * without a cache each request repeats the RSA signature check and claim validation.
+ * Here the first decode goes to the delegate, and the resulting {@link Jwt} is kept until the
+ * token's exp claim, so a token is verified once per lifetime per instance.
+ *
+ * Keys are SHA-256 digests of the token, so raw bearer tokens are never held as map keys.
+ * Tokens that fail verification are not cached. Concurrent first uses of one token share
+ * a single verification.
+ *
+ * Metrics: security.jwt.verifications (delegate calls) and security.jwt.verifications.saved (cache hits).
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> cache;
+    private final Counter verifiedCounter;
+    private final Counter savedCounter;
+    private final Clock clock;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maxSize, MeterRegistry meterRegistry) {
+        this(delegate, maxSize, meterRegistry, null);
+    }
+
+    // Tests pass a clock to move time; the cache then expires entries on that clock too
+    CachingJwtDecoder(JwtDecoder delegate, long maxSize, MeterRegistry meterRegistry, Clock clock) {
+        this.delegate = delegate;
+        this.clock = clock != null ? clock : Clock.systemUTC();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder();
+        if (clock != null) {
+            builder.ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()));
+        }
+        this.cache = builder
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String key, Jwt jwt) -> timeToExpiry(jwt)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "security.jwt");
+        this.verifiedCounter = meterRegistry.counter("security.jwt.verifications");
+        this.savedCounter = meterRegistry.counter("security.jwt.verifications.saved");
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        boolean[] verified = new boolean[1];
+        Jwt jwt = cache.get(sha256(token), key -> {
+            verified[0] = true;
+            return delegate.decode(token);
+        });
+        (verified[0] ? verifiedCounter : savedCounter).increment();
+        return jwt;
+    }
+
+    // Until exp; a token without exp is not kept
+    private Duration timeToExpiry(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt == null) {
+            return Duration.ZERO;
+        }
+        Duration remaining = Duration.between(clock.instant(), expiresAt);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
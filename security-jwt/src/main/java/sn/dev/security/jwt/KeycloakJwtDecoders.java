@@ -0,0 +1,37 @@
+package sn.dev.security.jwt;
+
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtDecoders;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.SupplierJwtDecoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Builds the bearer-token decoder every SecurityConfig exposes as its JwtDecoder bean.
+ */
+public final class KeycloakJwtDecoders {
+
+    private KeycloakJwtDecoders() {
+    }
+
+    /**
+     * Verifies tokens against Keycloak's keys the way Spring Boot would configure it (the JWK set
+     * URI with issuer validation, or issuer discovery when no JWK set URI is given), behind a
+     * {@link CachingJwtDecoder} holding up to cacheMaxSize verified tokens.
+     */
+    public static JwtDecoder cached(String issuerUri, String jwkSetUri, long cacheMaxSize,
+            MeterRegistry meterRegistry) {
+        JwtDecoder delegate;
+        if (jwkSetUri == null || jwkSetUri.isBlank()) {
+            // Discovery from the issuer, resolved on first use so startup does not need Keycloak
+            delegate = new SupplierJwtDecoder(() -> JwtDecoders.fromIssuerLocation(issuerUri));
+        } else {
+            NimbusJwtDecoder nimbus = NimbusJwtDecoder.withJwkSetUri(jwkSetUri).build();
+            nimbus.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+            delegate = nimbus;
+        }
+        return new CachingJwtDecoder(delegate, cacheMaxSize, meterRegistry);
+    }
+}
@@ -0,0 +1,108 @@
+package sn.dev.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CachingJwtDecoderTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private JwtDecoder delegate;
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(JwtDecoder.class);
+        decoder = new CachingJwtDecoder(delegate, 100, new SimpleMeterRegistry(), clock);
+    }
+
+    @Test
+    void verifiesOnceUntilExpiry() {
+        Jwt jwt = jwt(clock.instant().plus(Duration.ofMinutes(5)));
+        when(delegate.decode(TOKEN)).thenReturn(jwt);
+
+        assertThat(decoder.decode(TOKEN)).isSameAs(jwt);
+        clock.advance(Duration.ofMinutes(4));
+        assertThat(decoder.decode(TOKEN)).isSameAs(jwt);
+        verify(delegate, times(1)).decode(TOKEN);
+
+        clock.advance(Duration.ofMinutes(2));
+        decoder.decode(TOKEN);
+        verify(delegate, times(2)).decode(TOKEN);
+    }
+
+    @Test
+    void doesNotCacheRejectedTokens() {
+        Jwt jwt = jwt(clock.instant().plus(Duration.ofMinutes(5)));
+        when(delegate.decode(TOKEN)).thenThrow(new BadJwtException("bad signature")).thenReturn(jwt);
+
+        assertThatThrownBy(() -> decoder.decode(TOKEN)).isInstanceOf(BadJwtException.class);
+        assertThat(decoder.decode(TOKEN)).isSameAs(jwt);
+        verify(delegate, times(2)).decode(TOKEN);
+    }
+
+    @Test
+    void doesNotCacheTokensWithoutExpiry() {
+        Jwt jwt = jwt(null);
+        when(delegate.decode(TOKEN)).thenReturn(jwt);
+
+        assertThat(decoder.decode(TOKEN)).isSameAs(jwt);
+        assertThat(decoder.decode(TOKEN)).isSameAs(jwt);
+        verify(delegate, times(2)).decode(TOKEN);
+    }
+
+    private static Jwt jwt(Instant expiresAt) {
+        Jwt.Builder builder = Jwt.withTokenValue(TOKEN).header("alg", "RS256").subject("user-1");
+        if (expiresAt != null) {
+            builder.expiresAt(expiresAt);
+        }
+        return builder.build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
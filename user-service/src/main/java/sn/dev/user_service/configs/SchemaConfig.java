@@ -0,0 +1,31 @@
+package sn.dev.user_service.configs;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import sn.dev.schema.SchemaMigration;
+import sn.dev.schema.SchemaMigrations;
+
+/**
+ * Neo4j schema owned by user-service: User nodes (every service matches users by keycloakId,
+ * profiles and follows go by username) and the user_search full-text index. Applied and
+ * health-checked by the shared schema-migrations module; add a new migration rather than editing
+ * a shipped one.
+ */
+@Configuration
+public class SchemaConfig {
+
+    @Bean
+    public SchemaMigrations schemaMigrations() {
+        return SchemaMigrations.of(
+                new SchemaMigration(1, "Unique User.keycloakId",
+                        "CREATE CONSTRAINT user_keycloak_id IF NOT EXISTS FOR (u:User) REQUIRE u.keycloakId IS UNIQUE",
+                        "user_keycloak_id"),
+                new SchemaMigration(2, "Unique User.username",
+                        "CREATE CONSTRAINT user_username IF NOT EXISTS FOR (u:User) REQUIRE u.username IS UNIQUE",
+                        "user_username"),
+                new SchemaMigration(3, "Full-text index on User username/firstname/lastname",
+                        "CREATE FULLTEXT INDEX user_search IF NOT EXISTS FOR (u:User) ON EACH [u.username, u.firstname, u.lastname]",
+                        "user_search"));
+    }
+}
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -17,9 +18,13 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import sn.dev.security.jwt.KeycloakJwtDecoders;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -34,7 +39,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
 
                         // --- ACTUATOR ENDPOINTS (Health checks) ---
-                        .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
 
                         // --- PUBLIC ACCESS (No JWT required) ---
                         // Authentication endpoints
@@ -65,6 +70,7 @@ public class SecurityConfig {
 
                         // --- ADMIN ONLY ---
                         .requestMatchers(HttpMethod.DELETE, "/api/users/{username}").hasRole("ADMIN")
+                        .requestMatchers("/api/users/admin/**").hasRole("ADMIN")
 
                         // Deny anything else as a safety net
                         .anyRequest().permitAll())
@@ -74,6 +80,15 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Keycloak verification behind the shared verified-token cache (security-jwt module)
+    @Bean
+    public JwtDecoder jwtDecoder(MeterRegistry meterRegistry,
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri:}") String jwkSetUri,
+            @Value("${security.jwt.cache.max-size:10000}") long cacheMaxSize) {
+        return KeycloakJwtDecoders.cached(issuerUri, jwkSetUri, cacheMaxSize, meterRegistry);
+    }
+
     /**
      * Maps Keycloak realm_access.roles to Spring Security GrantedAuthority.
      * Enables @PreAuthorize("hasRole('ADMIN')") and similar annotations.
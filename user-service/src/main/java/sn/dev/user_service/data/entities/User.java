@@ -1,5 +1,6 @@
 package sn.dev.user_service.data.entities;
 
+import org.springframework.data.annotation.ReadOnlyProperty;
 import org.springframework.data.neo4j.core.schema.Id;
 import org.springframework.data.neo4j.core.schema.Node;
 import org.springframework.data.neo4j.core.schema.Property;
@@ -37,4 +38,16 @@ public class User {
      */
     @Property("totpSecret")
     private String totpSecret;
+
+    /**
+     * Denormalized FOLLOWS degrees, maintained by the follow/unfollow queries.
+     * Read-only so saving a User never overwrites them; null until first follow or repair.
+     */
+    @ReadOnlyProperty
+    @Property("followerCount")
+    private Long followerCount;
+
+    @ReadOnlyProperty
+    @Property("followingCount")
+    private Long followingCount;
 }
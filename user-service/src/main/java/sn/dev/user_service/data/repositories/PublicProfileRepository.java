@@ -0,0 +1,103 @@
+package sn.dev.user_service.data.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.neo4j.driver.Record;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import sn.dev.user_service.web.dto.PublicProfileDTO;
+
+/**
+ * Read-side projections that return users together with their follower/following counts.
+ *
+ * Uses Neo4jClient instead of the UserRepository so each listing is a single query.
+ * Counts come from the followerCount/followingCount properties maintained by
+ * follow/unfollow; the COUNT { } traversal is only evaluated for users whose counters
+ * have not been initialized yet (no follow activity since the repair job last ran).
+ */
+@Repository
+public class PublicProfileRepository {
+
+    private static final String PROFILE_PROJECTION = "RETURN u.username AS username, " +
+            "       u.firstname AS firstname, " +
+            "       u.lastname AS lastname, " +
+            "       coalesce(u.followerCount, COUNT { (u)<-[:FOLLOWS]-() }) AS followersCount, " +
+            "       coalesce(u.followingCount, COUNT { (u)-[:FOLLOWS]->() }) AS followingCount ";
+
+    private final Neo4jClient neo4jClient;
+
+    public PublicProfileRepository(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    public Optional<PublicProfileDTO> findByUsername(String username) {
+        return neo4jClient.query(
+                "MATCH (u:User {username: $username}) " +
+                PROFILE_PROJECTION)
+            .bind(username).to("username")
+            .fetchAs(PublicProfileDTO.class)
+            .mappedBy((typeSystem, record) -> toProfile(record))
+            .one();
+    }
+
+    /**
+     * Full-text search (index "user_search"), best match first.
+     */
+    public List<PublicProfileDTO> search(String luceneQuery, int skip, int limit) {
+        return List.copyOf(neo4jClient.query(
+                "CALL db.index.fulltext.queryNodes('user_search', $luceneQuery, {skip: $skip, limit: $limit}) " +
+                "YIELD node AS u, score " +
+                "WITH u, score ORDER BY score DESC " +
+                PROFILE_PROJECTION)
+            .bind(luceneQuery).to("luceneQuery")
+            .bind(skip).to("skip")
+            .bind(limit).to("limit")
+            .fetchAs(PublicProfileDTO.class)
+            .mappedBy((typeSystem, record) -> toProfile(record))
+            .all());
+    }
+
+    public List<PublicProfileDTO> findAll(int limit) {
+        return List.copyOf(neo4jClient.query(
+                "MATCH (u:User) " +
+                "WITH u ORDER BY u.username LIMIT $limit " +
+                PROFILE_PROJECTION)
+            .bind(limit).to("limit")
+            .fetchAs(PublicProfileDTO.class)
+            .mappedBy((typeSystem, record) -> toProfile(record))
+            .all());
+    }
+
+    // People the given user follows
+    public List<PublicProfileDTO> findFollowing(String username) {
+        return List.copyOf(neo4jClient.query(
+                "MATCH (:User {username: $username})-[:FOLLOWS]->(u:User) " +
+                PROFILE_PROJECTION)
+            .bind(username).to("username")
+            .fetchAs(PublicProfileDTO.class)
+            .mappedBy((typeSystem, record) -> toProfile(record))
+            .all());
+    }
+
+    // People who follow the given user
+    public List<PublicProfileDTO> findFollowers(String username) {
+        return List.copyOf(neo4jClient.query(
+                "MATCH (:User {username: $username})<-[:FOLLOWS]-(u:User) " +
+                PROFILE_PROJECTION)
+            .bind(username).to("username")
+            .fetchAs(PublicProfileDTO.class)
+            .mappedBy((typeSystem, record) -> toProfile(record))
+            .all());
+    }
+
+    private static PublicProfileDTO toProfile(Record record) {
+        return new PublicProfileDTO(
+                record.get("username").asString(null),
+                record.get("firstname").asString(null),
+                record.get("lastname").asString(null),
+                record.get("followersCount").asLong(),
+                record.get("followingCount").asLong());
+    }
+}
@@ -12,6 +12,15 @@ import sn.dev.user_service.data.entities.User;
 @Repository
 public interface UserRepository extends Neo4jRepository<User, String> {
 
+    // Counter decrements for unfollow and user deletion, on variables named me and target.
+    // Run after the FOLLOWS relationship is deleted: a null counter is seeded from what remains.
+    String DECREMENT_FOLLOWING_OF_ME =
+            "CASE WHEN me.followingCount IS NULL THEN COUNT { (me)-[:FOLLOWS]->() } " +
+            "     WHEN me.followingCount > 0 THEN me.followingCount - 1 ELSE 0 END";
+    String DECREMENT_FOLLOWERS_OF_TARGET =
+            "CASE WHEN target.followerCount IS NULL THEN COUNT { (target)<-[:FOLLOWS]-() } " +
+            "     WHEN target.followerCount > 0 THEN target.followerCount - 1 ELSE 0 END";
+
     // Spring generates this query automatically based on the method name!
     Optional<User> findByUsername(String username);
 
@@ -20,39 +29,64 @@ public interface UserRepository extends Neo4jRepository<User, String> {
     // Spring Data Neo4j handles this automatically if you name it correctly
     boolean existsByUsername(String username);
 
-    // Find users where username, firstname, or lastname contains the query
-    // (case-insensitive)
-    @Query("MATCH (u:User) " +
-            "WHERE toLower(u.username) CONTAINS toLower($query) " +
-            "OR toLower(u.firstname) CONTAINS toLower($query) " +
-            "OR toLower(u.lastname) CONTAINS toLower($query) " +
-            "RETURN u LIMIT 20")
-    List<User> searchUsers(String query);
-
+    // Follow/unfollow keep followerCount/followingCount in step within the same statement.
+    // ON CREATE makes a repeated follow a no-op for the counters.
+    // A counter still null (user created before the counters existed) is seeded from the
+    // relationships themselves, after the write, instead of starting from 0.
     @Query("MATCH (me:User {username: $me}), (target:User {username: $target}) " +
             "MERGE (me)-[r:FOLLOWS]->(target) " +
+            "ON CREATE SET me.followingCount = coalesce(me.followingCount + 1, COUNT { (me)-[:FOLLOWS]->() }), " +
+            "              target.followerCount = coalesce(target.followerCount + 1, COUNT { (target)<-[:FOLLOWS]-() }) " +
             "RETURN r")
     void followUser(String me, String target);
 
     @Query("MATCH (me:User {username: $me})-[r:FOLLOWS]->(target:User {username: $target}) " +
-            "DELETE r")
+            "DELETE r " +
+            "SET me.followingCount = " + DECREMENT_FOLLOWING_OF_ME + ", " +
+            "    target.followerCount = " + DECREMENT_FOLLOWERS_OF_TARGET)
     void unfollowUser(String me, String target);
 
+    // Decrements the counters of everyone linked to this user, then drops the FOLLOWS
+    // relationships. Run before deleting a user so neighbours' counters stay correct.
+    @Query("MATCH (u:User {keycloakId: $keycloakId}) " +
+            "CALL { WITH u " +
+            "  MATCH (u)-[r:FOLLOWS]->(target:User) " +
+            "  DELETE r " +
+            "  WITH target " +
+            "  SET target.followerCount = " + DECREMENT_FOLLOWERS_OF_TARGET + " } " +
+            "CALL { WITH u " +
+            "  MATCH (u)<-[r:FOLLOWS]-(me:User) " +
+            "  DELETE r " +
+            "  WITH me " +
+            "  SET me.followingCount = " + DECREMENT_FOLLOWING_OF_ME + " } " +
+            "SET u.followerCount = 0, u.followingCount = 0")
+    void detachFollows(String keycloakId);
+
+    // Replaces deleteById: the node becomes a (:DeletedUser {keycloakId, deletedAt}) tombstone.
+    // Every relationship except RATED is dropped and the profile properties are cleared.
+    // rating-service retracts the RATED scores from its movie aggregates and then deletes them,
+    // and recommendation-service evicts the user from its rating matrix on deletedAt.
+    // Run after detachFollows.
+    @Query("MATCH (u:User {keycloakId: $keycloakId}) " +
+            "OPTIONAL MATCH (u)-[x]-() WHERE type(x) <> 'RATED' " +
+            "DELETE x " +
+            "WITH DISTINCT u " +
+            "REMOVE u:User " +
+            "SET u = {keycloakId: u.keycloakId, deletedAt: datetime()}, u:DeletedUser")
+    void retire(String keycloakId);
+
+    // Repair: recompute the counters for the next batch of users after the keycloakId cursor.
+    // Returns the ids processed, in order; the last one is the cursor for the next batch.
+    @Query("MATCH (u:User) WHERE u.keycloakId > $after " +
+            "WITH u ORDER BY u.keycloakId LIMIT $batchSize " +
+            "SET u.followerCount = COUNT { (u)<-[:FOLLOWS]-() }, " +
+            "    u.followingCount = COUNT { (u)-[:FOLLOWS]->() } " +
+            "RETURN u.keycloakId ORDER BY u.keycloakId")
+    List<String> recomputeFollowCounters(String after, int batchSize);
+
     @Query("MATCH (u:User {username: $username})<-[:FOLLOWS]-() RETURN count(*)")
     Long countFollowers(String username);
 
     @Query("MATCH (u:User {username: $username})-[:FOLLOWS]->() RETURN count(*)")
     Long countFollowing(String username);
-
-    // People I follow
-    @Query("MATCH (u:User {username: $username})-[:FOLLOWS]->(following:User) RETURN following")
-    List<User> findFollowing(String username);
-
-    // People who follow me
-    @Query("MATCH (u:User {username: $username})<-[:FOLLOWS]-(follower:User) RETURN follower")
-    List<User> findFollowers(String username);
-
-    // List all users (most recently created first, limited)
-    @Query("MATCH (u:User) RETURN u ORDER BY u.username LIMIT $limit")
-    List<User> findAllUsersLimited(int limit);
 }
\ No newline at end of file
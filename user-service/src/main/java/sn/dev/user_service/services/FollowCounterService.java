@@ -0,0 +1,10 @@
+package sn.dev.user_service.services;
+
+import sn.dev.user_service.web.dto.FollowCounterRepairDTO;
+
+public interface FollowCounterService {
+
+    // Recomputes followerCount/followingCount on every User from the FOLLOWS relationships,
+    // in keycloakId order and in batches. Runs nightly and can be triggered by an admin.
+    FollowCounterRepairDTO repairAll();
+}
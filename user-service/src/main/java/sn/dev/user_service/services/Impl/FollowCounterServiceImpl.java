@@ -0,0 +1,76 @@
+package sn.dev.user_service.services.Impl;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import sn.dev.user_service.data.repositories.UserRepository;
+import sn.dev.user_service.exceptions.ConflictException;
+import sn.dev.user_service.services.FollowCounterService;
+import sn.dev.user_service.web.dto.FollowCounterRepairDTO;
+
+/**
+ * Repair job for the denormalized follow counters.
+ *
+ * Follow/unfollow keep the counters exact, so this only matters for users created before
+ * the counters existed or after a manual graph edit. Each batch is its own short write
+ * transaction, so the job never locks more than batch-size users at once.
+ */
+@Service
+public class FollowCounterServiceImpl implements FollowCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(FollowCounterServiceImpl.class);
+
+    private final UserRepository userRepository;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public FollowCounterServiceImpl(UserRepository userRepository,
+            @Value("${users.follow-counters.repair.batch-size:1000}") int batchSize) {
+        this.userRepository = userRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${users.follow-counters.repair.cron:0 30 3 * * *}")
+    public void scheduledRepair() {
+        try {
+            repairAll();
+        } catch (ConflictException e) {
+            log.info("Skipping scheduled follow counter repair: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public FollowCounterRepairDTO repairAll() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("Follow counter repair is already running");
+        }
+
+        long start = System.currentTimeMillis();
+        long repaired = 0;
+        int batches = 0;
+        try {
+            String cursor = "";
+            List<String> ids;
+            do {
+                ids = userRepository.recomputeFollowCounters(cursor, batchSize);
+                if (!ids.isEmpty()) {
+                    cursor = ids.get(ids.size() - 1);
+                    repaired += ids.size();
+                    batches++;
+                }
+            } while (ids.size() == batchSize);
+        } finally {
+            running.set(false);
+        }
+
+        long durationMs = System.currentTimeMillis() - start;
+        log.info("Repaired follow counters for {} users in {} batches ({} ms)", repaired, batches, durationMs);
+        return new FollowCounterRepairDTO(repaired, batches, durationMs);
+    }
+}
@@ -1,6 +1,7 @@
 package sn.dev.user_service.services.Impl;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -29,6 +30,7 @@ import jakarta.ws.rs.core.Response;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 import sn.dev.user_service.data.entities.User;
+import sn.dev.user_service.data.repositories.PublicProfileRepository;
 import sn.dev.user_service.data.repositories.UserRepository;
 import sn.dev.user_service.exceptions.BadRequestException;
 import sn.dev.user_service.exceptions.ConflictException;
@@ -51,6 +53,7 @@ public class UserServiceImpl implements UserService {
     private static final Logger log = LoggerFactory.getLogger(UserServiceImpl.class);
 
     private final UserRepository userRepository;
+    private final PublicProfileRepository publicProfileRepository;
     private final Keycloak keycloak;
 
     @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
@@ -226,8 +229,12 @@ public class UserServiceImpl implements UserService {
 
             return userRepository.findById(keycloakId)
                     .map(user -> {
-                        Long followers = userRepository.countFollowers(user.getUsername());
-                        Long following = userRepository.countFollowing(user.getUsername());
+                        Long followers = user.getFollowerCount() != null
+                                ? user.getFollowerCount()
+                                : userRepository.countFollowers(user.getUsername());
+                        Long following = user.getFollowingCount() != null
+                                ? user.getFollowingCount()
+                                : userRepository.countFollowing(user.getUsername());
                         return new UserProfileDTO(
                                 user.getUsername(),
                                 user.getEmail(),
@@ -264,54 +271,69 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public PublicProfileDTO getPublicProfile(String username) {
-        User user = userRepository.findByUsername(username)
+        return publicProfileRepository.findByUsername(username)
                 .orElseThrow(() -> new NotFoundException("User not found: " + username));
-
-        Long followers = userRepository.countFollowers(username);
-        Long following = userRepository.countFollowing(username);
-
-        return new PublicProfileDTO(
-                user.getUsername(),
-                user.getFirstname(),
-                user.getLastname(),
-                followers,
-                following);
     }
 
     @Override
-    public List<PublicProfileDTO> searchUsers(String query) {
-        if (query == null || query.trim().isEmpty()) {
+    public List<PublicProfileDTO> searchUsers(String query, int page, int size) {
+        String luceneQuery = toLuceneQuery(query);
+        if (luceneQuery.isEmpty()) {
             return List.of();
         }
 
-        return userRepository.searchUsers(query).stream()
-                .map(user -> {
-                    Long followers = userRepository.countFollowers(user.getUsername());
-                    Long following = userRepository.countFollowing(user.getUsername());
-                    return new PublicProfileDTO(
-                            user.getUsername(),
-                            user.getFirstname(),
-                            user.getLastname(),
-                            followers,
-                            following);
-                })
-                .toList();
+        int skip;
+        try {
+            skip = Math.multiplyExact(page, size);
+        } catch (ArithmeticException e) {
+            throw new BadRequestException("Page out of range: " + page);
+        }
+        return publicProfileRepository.search(luceneQuery, skip, size);
+    }
+
+    /**
+     * Turns free text into a Lucene query for the user_search index.
+     * Every word must match (AND); each word matches exactly (boosted), as a prefix
+     * ("jo" finds "john") or, from 4 characters, with one typo ("jhon" finds "john").
+     * Lucene syntax characters typed by the user are escaped.
+     */
+    private static String toLuceneQuery(String query) {
+        if (query == null || query.isBlank()) {
+            return "";
+        }
+
+        StringBuilder lucene = new StringBuilder();
+        for (String word : query.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            String term = escapeLucene(word);
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (lucene.length() > 0) {
+                lucene.append(" AND ");
+            }
+            lucene.append('(').append(term).append("^3 OR ").append(term).append('*');
+            if (word.length() >= 4) {
+                lucene.append(" OR ").append(term).append("~1");
+            }
+            lucene.append(')');
+        }
+        return lucene.toString();
+    }
+
+    private static String escapeLucene(String word) {
+        StringBuilder escaped = new StringBuilder(word.length());
+        for (char c : word.toCharArray()) {
+            if ("+-&|!(){}[]^\"~*?:\\/".indexOf(c) >= 0) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
     }
 
     @Override
     public List<PublicProfileDTO> listAllUsers(int limit) {
-        return userRepository.findAllUsersLimited(limit).stream()
-                .map(user -> {
-                    Long followers = userRepository.countFollowers(user.getUsername());
-                    Long following = userRepository.countFollowing(user.getUsername());
-                    return new PublicProfileDTO(
-                            user.getUsername(),
-                            user.getFirstname(),
-                            user.getLastname(),
-                            followers,
-                            following);
-                })
-                .toList();
+        return publicProfileRepository.findAll(limit);
     }
 
     @Override
@@ -348,22 +370,12 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public List<PublicProfileDTO> getFollowingList(String username) {
-        return userRepository.findFollowing(username).stream()
-                .map(u -> new PublicProfileDTO(
-                        u.getUsername(), u.getFirstname(), u.getLastname(),
-                        userRepository.countFollowers(u.getUsername()),
-                        userRepository.countFollowing(u.getUsername())))
-                .toList();
+        return publicProfileRepository.findFollowing(username);
     }
 
     @Override
     public List<PublicProfileDTO> getFollowersList(String username) {
-        return userRepository.findFollowers(username).stream()
-                .map(u -> new PublicProfileDTO(
-                        u.getUsername(), u.getFirstname(), u.getLastname(),
-                        userRepository.countFollowers(u.getUsername()),
-                        userRepository.countFollowing(u.getUsername())))
-                .toList();
+        return publicProfileRepository.findFollowers(username);
     }
 
     @Override
@@ -382,13 +394,19 @@ public class UserServiceImpl implements UserService {
 
         if (kcUser == null || kcUser.getId() == null || kcUser.getId().isBlank()) {
             userRepository.findByUsername(username)
-                    .ifPresent(u -> userRepository.deleteById(u.getKeycloakId()));
+                    .ifPresent(u -> {
+                        userRepository.detachFollows(u.getKeycloakId());
+                        userRepository.retire(u.getKeycloakId());
+                    });
             throw new NotFoundException("Keycloak user not found: " + username);
         }
 
         String keycloakId = kcUser.getId();
 
-        userRepository.findById(keycloakId).ifPresent(u -> userRepository.deleteById(keycloakId));
+        userRepository.findById(keycloakId).ifPresent(u -> {
+            userRepository.detachFollows(keycloakId);
+            userRepository.retire(keycloakId);
+        });
 
         try {
             keycloak.realm("neo4flix").users().get(keycloakId).remove();
@@ -24,7 +24,7 @@ public interface UserService {
 
     PublicProfileDTO getPublicProfile(String username);
 
-    List<PublicProfileDTO> searchUsers(String query);
+    List<PublicProfileDTO> searchUsers(String query, int page, int size);
 
     List<PublicProfileDTO> listAllUsers(int limit);
 
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 
 import jakarta.validation.Valid;
 import org.springframework.security.access.prepost.PreAuthorize;
+import sn.dev.user_service.web.dto.FollowCounterRepairDTO;
 import sn.dev.user_service.web.dto.LoginDTO;
 import sn.dev.user_service.web.dto.PublicProfileDTO;
 import sn.dev.user_service.web.dto.RefreshTokenDTO;
@@ -45,7 +46,9 @@ public interface UserController {
     ResponseEntity<PublicProfileDTO> getPublicProfile(@PathVariable String username);
 
     @GetMapping("/search")
-    ResponseEntity<List<PublicProfileDTO>> search(@RequestParam("q") String query);
+    ResponseEntity<List<PublicProfileDTO>> search(@RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size);
 
     @GetMapping("/all")
     ResponseEntity<List<PublicProfileDTO>> listAll(@RequestParam(defaultValue = "50") int limit);
@@ -66,6 +69,10 @@ public interface UserController {
     @DeleteMapping("/{username}")
     ResponseEntity<Void> adminDeleteUser(@PathVariable String username);
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/admin/follow-counters/repair")
+    ResponseEntity<FollowCounterRepairDTO> repairFollowCounters();
+
     // --- Two-Factor Authentication ---
 
     @GetMapping("/2fa/status")
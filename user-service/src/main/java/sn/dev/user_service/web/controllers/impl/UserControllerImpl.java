@@ -8,8 +8,10 @@ import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import sn.dev.user_service.services.FollowCounterService;
 import sn.dev.user_service.services.UserService;
 import sn.dev.user_service.web.controllers.UserController;
+import sn.dev.user_service.web.dto.FollowCounterRepairDTO;
 import sn.dev.user_service.web.dto.LoginDTO;
 import sn.dev.user_service.web.dto.PublicProfileDTO;
 import sn.dev.user_service.web.dto.RefreshTokenDTO;
@@ -24,6 +26,7 @@ import sn.dev.user_service.web.dto.UserProfileDTO;
 @RequiredArgsConstructor
 public class UserControllerImpl implements UserController {
     private final UserService userService;
+    private final FollowCounterService followCounterService;
 
     @Override
     public ResponseEntity<String> register(RegistrationDTO registrationDto) {
@@ -60,8 +63,10 @@ public class UserControllerImpl implements UserController {
     }
 
     @Override
-    public ResponseEntity<List<PublicProfileDTO>> search(String query) {
-        return ResponseEntity.ok(userService.searchUsers(query));
+    public ResponseEntity<List<PublicProfileDTO>> search(String query, int page, int size) {
+        int safePage = Math.max(page, 0);
+        int safeSize = Math.min(Math.max(size, 1), 50);
+        return ResponseEntity.ok(userService.searchUsers(query, safePage, safeSize));
     }
 
     @Override
@@ -97,6 +102,11 @@ public class UserControllerImpl implements UserController {
         return ResponseEntity.noContent().build();
     }
 
+    @Override
+    public ResponseEntity<FollowCounterRepairDTO> repairFollowCounters() {
+        return ResponseEntity.ok(followCounterService.repairAll());
+    }
+
     // --- Two-Factor Authentication ---
 
     @Override
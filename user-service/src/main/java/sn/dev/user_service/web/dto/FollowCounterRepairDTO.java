@@ -0,0 +1,7 @@
+package sn.dev.user_service.web.dto;
+
+public record FollowCounterRepairDTO(
+        long usersRepaired,
+        int batches,
+        long durationMs) {
+}
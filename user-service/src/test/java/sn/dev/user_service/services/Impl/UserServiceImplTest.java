@@ -0,0 +1,84 @@
+package sn.dev.user_service.services.Impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.admin.client.Keycloak;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import sn.dev.user_service.data.repositories.PublicProfileRepository;
+import sn.dev.user_service.data.repositories.UserRepository;
+import sn.dev.user_service.web.dto.PublicProfileDTO;
+
+/**
+ * Listing endpoints must cost one Neo4j query per request, whatever the number of users returned.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private PublicProfileRepository publicProfileRepository;
+
+	@Mock
+	private Keycloak keycloak;
+
+	@InjectMocks
+	private UserServiceImpl userService;
+
+	private static List<PublicProfileDTO> profiles(int count) {
+		return IntStream.range(0, count)
+				.mapToObj(i -> new PublicProfileDTO("user" + i, "First", "Last", 3L, 5L))
+				.toList();
+	}
+
+	@Test
+	void listAllUsersRunsSingleQuery() {
+		when(publicProfileRepository.findAll(50)).thenReturn(profiles(50));
+
+		assertThat(userService.listAllUsers(50)).hasSize(50);
+
+		verify(publicProfileRepository).findAll(50);
+		verifyNoMoreInteractions(publicProfileRepository);
+		verifyNoInteractions(userRepository);
+	}
+
+	@Test
+	void searchUsersRunsSingleQuery() {
+		when(publicProfileRepository.search(anyString(), anyInt(), anyInt())).thenReturn(profiles(20));
+
+		assertThat(userService.searchUsers("jo", 0, 20)).hasSize(20);
+
+		verify(publicProfileRepository).search("(jo^3 OR jo*)", 0, 20);
+		verifyNoMoreInteractions(publicProfileRepository);
+		verifyNoInteractions(userRepository);
+	}
+
+	@Test
+	void followListsRunSingleQueryEach() {
+		when(publicProfileRepository.findFollowing("alice")).thenReturn(profiles(30));
+		when(publicProfileRepository.findFollowers("alice")).thenReturn(profiles(40));
+
+		assertThat(userService.getFollowingList("alice")).hasSize(30);
+		assertThat(userService.getFollowersList("alice")).hasSize(40);
+
+		verify(publicProfileRepository).findFollowing("alice");
+		verify(publicProfileRepository).findFollowers("alice");
+		verifyNoMoreInteractions(publicProfileRepository);
+		verifyNoInteractions(userRepository);
+	}
+}